@@ -0,0 +1,123 @@
+package nl.tvn.cube.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class MoveApplicationBenchmark {
+    private static final int MOVE_COUNT = 4096;
+    private Move[] moves;
+    private int[] tableIndexes;
+    private CubeModel legacyModel;
+    private CubeModel model;
+    private CubeState state;
+
+    @Setup
+    public void setUp() {
+        moves = randomMoves(new Random(42));
+        tableIndexes = new int[moves.length];
+        for (int i = 0; i < moves.length; i++) {
+            tableIndexes[i] = MoveTable.tableIndex(moves[i]);
+        }
+        legacyModel = new CubeModel();
+        model = new CubeModel();
+        state = new CubeState();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MOVE_COUNT)
+    public void legacyCoordinateScan() {
+        for (Move move : moves) {
+            applyLegacy(legacyModel, move);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MOVE_COUNT)
+    public void cubeModelApply() {
+        for (Move move : moves) {
+            model.apply(move);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MOVE_COUNT)
+    public void cubeStateApply() {
+        for (int tableIndex : tableIndexes) {
+            state.apply(tableIndex);
+        }
+    }
+
+    @Benchmark
+    public void cubeModelReset(Blackhole blackhole) {
+        model.reset();
+        blackhole.consume(model);
+    }
+
+    private static Move[] randomMoves(Random random) {
+        List<Set<Integer>> layerSets = List.of(
+            Set.of(-1), Set.of(0), Set.of(1), Set.of(0, 1), Set.of(-1, 0), Set.of(-1, 0, 1));
+        int[] turns = { -1, 1, 2, -2 };
+        Move[] result = new Move[MOVE_COUNT];
+        for (int i = 0; i < MOVE_COUNT; i++) {
+            RotationAxis axis = RotationAxis.values()[random.nextInt(3)];
+            result[i] = new Move(axis, layerSets.get(random.nextInt(layerSets.size())), turns[random.nextInt(turns.length)]);
+        }
+        return result;
+    }
+
+    // Mirrors the per-cubie scan and per-quarter-turn coordinate rotation CubeViewModel used before move tables.
+    private static void applyLegacy(CubeModel model, Move move) {
+        List<CubieModel> affected = new ArrayList<>();
+        for (CubieModel cubie : model.cubies()) {
+            int layer = switch (move.axis()) {
+                case X -> cubie.coordinate().x();
+                case Y -> cubie.coordinate().y();
+                case Z -> cubie.coordinate().z();
+            };
+            if (move.layers().contains(layer)) {
+                affected.add(cubie);
+            }
+        }
+        int turns = move.quarterTurns() % 4;
+        int step = turns > 0 ? 1 : -1;
+        for (int i = 0; i < Math.abs(turns); i++) {
+            for (CubieModel cubie : affected) {
+                rotateLegacy(cubie.coordinate(), move.axis(), step);
+            }
+        }
+    }
+
+    private static void rotateLegacy(CubeCoordinate coordinate, RotationAxis axis, int turn) {
+        int x = coordinate.x();
+        int y = coordinate.y();
+        int z = coordinate.z();
+        if (axis == RotationAxis.X) {
+            coordinate.set(x, turn > 0 ? z : -z, turn > 0 ? -y : y);
+        } else if (axis == RotationAxis.Y) {
+            coordinate.set(turn > 0 ? -z : z, y, turn > 0 ? x : -x);
+        } else {
+            coordinate.set(turn > 0 ? y : -y, turn > 0 ? -x : x, z);
+        }
+    }
+}
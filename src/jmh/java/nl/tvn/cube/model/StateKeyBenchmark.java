@@ -0,0 +1,62 @@
+package nl.tvn.cube.model;
+
+import java.util.HashSet;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Deduplicating the states along a random walk: a HashedCubeState's running hash and packed keys in a
+// PackedStateSet against copies of the state in a HashSet.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class StateKeyBenchmark {
+    private static final int STATE_COUNT = 1 << 20;
+    private int[] tableIndexes;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        tableIndexes = new int[STATE_COUNT];
+        for (int i = 0; i < STATE_COUNT; i++) {
+            tableIndexes[i] = random.nextInt(MoveTable.MOVE_COUNT);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(STATE_COUNT)
+    public int packedStateSet() {
+        PackedStateSet set = new PackedStateSet();
+        HashedCubeState state = new HashedCubeState();
+        for (int tableIndex : tableIndexes) {
+            state.apply(tableIndex);
+            set.add(state);
+        }
+        return set.size();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(STATE_COUNT)
+    public int hashSetOfCopies() {
+        HashSet<CubeState> set = new HashSet<>();
+        CubeState state = new CubeState();
+        for (int tableIndex : tableIndexes) {
+            state.apply(tableIndex);
+            set.add(state.copy());
+        }
+        return set.size();
+    }
+}
@@ -0,0 +1,54 @@
+package nl.tvn.cube.viewmodel;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import nl.tvn.cube.model.CubeState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class AlgorithmParserBenchmark {
+    private static final String SHORT_ALGORITHM = "R U R' U' R' F R2 U' R' U' R U R' F'";
+    private static final String NESTED_ALGORITHM = "[F: ([R, U] [R': U2])1000000]2 (Rw x' [M, E])99";
+    private static final int MEGABYTE = 1 << 20;
+    private String megabyteAlgorithm;
+
+    @Setup
+    public void setUp() {
+        String[] tokens = { "R", "L'", "U2", "D", "F'", "B", "M", "E'", "S2" };
+        Random random = new Random(42);
+        StringBuilder builder = new StringBuilder(MEGABYTE + 4);
+        while (builder.length() < MEGABYTE) {
+            builder.append(tokens[random.nextInt(tokens.length)]).append(' ');
+        }
+        megabyteAlgorithm = builder.toString();
+    }
+
+    @Benchmark
+    public AlgorithmParseResult parseShort() {
+        return AlgorithmParser.parse(SHORT_ALGORITHM);
+    }
+
+    @Benchmark
+    public AlgorithmParseResult parseMegabyte() {
+        return AlgorithmParser.parse(megabyteAlgorithm);
+    }
+
+    @Benchmark
+    public CubeState compileNested() {
+        return AlgorithmParser.parse(NESTED_ALGORITHM).algorithm().compile();
+    }
+}
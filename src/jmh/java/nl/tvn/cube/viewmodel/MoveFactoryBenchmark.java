@@ -0,0 +1,68 @@
+package nl.tvn.cube.viewmodel;
+
+import java.util.concurrent.TimeUnit;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class MoveFactoryBenchmark {
+    private static final char[] TOKENS = { 'F', 'B', 'R', 'L', 'U', 'D', 'M', 'E', 'S' };
+    private static final KeyCode[] KEYS = {
+        KeyCode.F, KeyCode.B, KeyCode.R, KeyCode.L, KeyCode.U, KeyCode.D, KeyCode.M, KeyCode.E, KeyCode.S
+    };
+    private KeyEvent[] plainEvents;
+    private KeyEvent[] wideEvents;
+
+    @Setup
+    public void setUp() {
+        plainEvents = new KeyEvent[KEYS.length];
+        wideEvents = new KeyEvent[KEYS.length];
+        for (int i = 0; i < KEYS.length; i++) {
+            String text = KEYS[i].getChar().toLowerCase();
+            plainEvents[i] = new KeyEvent(KeyEvent.KEY_PRESSED, text, text, KEYS[i], i % 2 == 0, false, false, false);
+            wideEvents[i] = new KeyEvent(KeyEvent.KEY_PRESSED, text, text, KEYS[i], false, false, true, false);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(18)
+    public void fromNotation(Blackhole blackhole) {
+        for (char token : TOKENS) {
+            blackhole.consume(MoveFactory.fromNotation(token, false));
+            blackhole.consume(MoveFactory.fromNotation(token, true));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(9)
+    public void fromKeyEvent(Blackhole blackhole) {
+        for (KeyEvent event : plainEvents) {
+            blackhole.consume(MoveFactory.fromKeyEvent(event));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(9)
+    public void wideMove(Blackhole blackhole) {
+        for (KeyEvent event : wideEvents) {
+            blackhole.consume(MoveFactory.wideMove(event));
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package nl.tvn.cube.viewmodel;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javafx.animation.KeyFrame;
+import javafx.animation.KeyValue;
+import javafx.animation.Timeline;
+import javafx.application.Platform;
+import javafx.scene.Group;
+import javafx.scene.transform.Rotate;
+import javafx.util.Duration;
+import nl.tvn.cube.model.CubeModel;
+import nl.tvn.cube.model.CubieModel;
+import nl.tvn.cube.model.Move;
+import nl.tvn.cube.model.MoveNotation;
+import nl.tvn.cube.view.CubieView;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Scene-graph work of animated turns without waiting for real frames: each turn is begun, advanced through
+// FRAMES_PER_TURN angle updates and completed. Run with "-prof gc" to compare gc.alloc.rate.norm per turn
+// against the previous design, reproduced in legacyTurns, which reparented cubies into a fresh slice
+// group driven by its own Timeline. The queuedTurns benchmarks add everything else a key press goes
+// through: the move queue, JFR event checks, frame metrics and history recording.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class SliceTurnBenchmark {
+    private static final int TURNS = 10_000;
+    private static final int FRAMES_PER_TURN = 15;
+    private static final Duration DURATION = Duration.seconds(0.25);
+    private static final long FRAME_NANOS = 1_000_000_000L / 60;
+    private final Move[] moves = {
+        MoveNotation.face('R', 1), MoveNotation.face('U', -1), MoveNotation.face('M', 2), MoveNotation.wide('F', 1)
+    };
+    private CubeViewModel viewModel;
+    private CubeModel legacyModel;
+    private Group legacyGroup;
+    private Map<CubieModel, CubieView> legacyViews;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        try {
+            Platform.startup(() -> { });
+        } catch (IllegalStateException alreadyStarted) {
+            // Another benchmark in this fork already started the toolkit.
+        }
+        viewModel = new CubeViewModel();
+        legacyModel = new CubeModel();
+        legacyGroup = new Group();
+        legacyViews = new HashMap<>();
+        for (CubieModel cubie : legacyModel.cubies()) {
+            CubieView view = new CubieView(cubie);
+            legacyViews.put(cubie, view);
+            legacyGroup.getChildren().add(view);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TURNS)
+    public void turns() {
+        for (int i = 0; i < TURNS; i++) {
+            viewModel.beginTurn(moves[i & (moves.length - 1)]);
+            for (int frame = 1; frame <= FRAMES_PER_TURN; frame++) {
+                viewModel.setTurnProgress((double) frame / FRAMES_PER_TURN);
+            }
+            viewModel.completeTurn();
+        }
+    }
+
+    // Each key press lands on an idle cube, so every turn also restarts the frame timer.
+    @Benchmark
+    @OperationsPerInvocation(TURNS)
+    public void queuedTurnsFromIdle() throws InterruptedException {
+        playQueued(1);
+    }
+
+    // Ten presses queued ahead of the animation, as when typing faster than turns play.
+    @Benchmark
+    @OperationsPerInvocation(TURNS)
+    public void queuedTurnsInBursts() throws InterruptedException {
+        playQueued(10);
+    }
+
+    // Runs on the FX thread, where the frame timer it stands in for would run, so the real timer cannot
+    // advance the same turns; frame times follow System.nanoTime() like AnimationTimer's.
+    private void playQueued(int burst) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        Platform.runLater(() -> {
+            long now = System.nanoTime();
+            for (int i = 0; i < TURNS; i += burst) {
+                for (int j = i; j < i + burst; j++) {
+                    viewModel.applyMove(moves[j & (moves.length - 1)]);
+                }
+                now = Math.max(now, System.nanoTime());
+                while (viewModel.isAnimating()) {
+                    now += FRAME_NANOS;
+                    viewModel.advance(now);
+                }
+            }
+            done.countDown();
+        });
+        done.await();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TURNS)
+    public void legacyTurns() {
+        CubieModel[] affected = new CubieModel[CubeModel.CUBIE_COUNT];
+        for (int i = 0; i < TURNS; i++) {
+            Move move = moves[i & (moves.length - 1)];
+            int count = legacyModel.affectedCubies(move, affected);
+            List<CubieView> views = new ArrayList<>(count);
+            for (int j = 0; j < count; j++) {
+                views.add(legacyViews.get(affected[j]));
+            }
+            legacyGroup.getChildren().removeAll(views);
+            Group sliceGroup = new Group();
+            sliceGroup.getChildren().addAll(views);
+            legacyGroup.getChildren().add(sliceGroup);
+            Rotate rotate = new Rotate(0, Rotate.X_AXIS);
+            sliceGroup.getTransforms().add(rotate);
+            Timeline timeline = new Timeline(
+                new KeyFrame(Duration.ZERO, new KeyValue(rotate.angleProperty(), 0)),
+                new KeyFrame(DURATION, new KeyValue(rotate.angleProperty(), 90))
+            );
+            for (int frame = 1; frame <= FRAMES_PER_TURN; frame++) {
+                timeline.jumpTo(DURATION.multiply((double) frame / FRAMES_PER_TURN));
+            }
+            sliceGroup.getTransforms().clear();
+            legacyGroup.getChildren().remove(sliceGroup);
+            legacyModel.apply(move);
+            for (CubieView view : views) {
+                view.updateOrientation();
+                view.updateTranslation();
+            }
+            legacyGroup.getChildren().addAll(views);
+        }
+    }
+}
@@ -1,8 +1,11 @@
 module nl.tvn.cube {
     requires javafx.controls;
     requires javafx.graphics;
+    requires jdk.jfr;
 
+    exports nl.tvn.cube.cli;
     exports nl.tvn.cube.model;
+    exports nl.tvn.cube.solver;
     exports nl.tvn.cube.viewmodel;
     exports nl.tvn.cube.view;
 }
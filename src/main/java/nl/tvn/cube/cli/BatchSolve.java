@@ -0,0 +1,79 @@
+package nl.tvn.cube.cli;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Function;
+import nl.tvn.cube.model.CubeState;
+import nl.tvn.cube.solver.OptimalSolver;
+import nl.tvn.cube.solver.Solution;
+import nl.tvn.cube.solver.TwoPhaseSolver;
+
+public final class BatchSolve {
+    private static final String USAGE =
+        "Usage: BatchSolve [--optimal] [--concurrency N] [--timeout-ms N] [--output FILE] <scrambles-file|->";
+
+    private BatchSolve() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        String input = null;
+        String output = null;
+        boolean optimal = false;
+        int concurrency = Runtime.getRuntime().availableProcessors();
+        long timeoutMillis = TwoPhaseSolver.DEFAULT_TIMEOUT_MILLIS;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--optimal" -> optimal = true;
+                case "--concurrency" -> concurrency = Integer.parseInt(value(args, ++i));
+                case "--timeout-ms" -> timeoutMillis = Long.parseLong(value(args, ++i));
+                case "--output" -> output = value(args, ++i);
+                default -> input = args[i];
+            }
+        }
+        if (input == null) {
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+
+        Function<CubeState, Solution> solver;
+        if (optimal) {
+            solver = new OptimalSolver()::solve;
+        } else {
+            solver = new TwoPhaseSolver(
+                TwoPhaseSolver.DEFAULT_MAX_LENGTH, TwoPhaseSolver.DEFAULT_TARGET_LENGTH, timeoutMillis)::solve;
+        }
+        try (BufferedReader reader = open(input); Writer writer = create(output)) {
+            BatchSolver.Summary summary = new BatchSolver(solver, concurrency).run(reader, writer);
+            System.err.println(summary);
+        }
+    }
+
+    private static String value(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException(USAGE);
+        }
+        return args[index];
+    }
+
+    private static BufferedReader open(String input) throws IOException {
+        if (input.equals("-")) {
+            return new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        }
+        return Files.newBufferedReader(Path.of(input), StandardCharsets.UTF_8);
+    }
+
+    private static Writer create(String output) throws IOException {
+        if (output == null) {
+            return new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+        }
+        return Files.newBufferedWriter(Path.of(output), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,152 @@
+package nl.tvn.cube.cli;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import nl.tvn.cube.model.CubeState;
+import nl.tvn.cube.model.MoveNotation;
+import nl.tvn.cube.solver.Solution;
+import nl.tvn.cube.viewmodel.AlgorithmParseResult;
+import nl.tvn.cube.viewmodel.AlgorithmParser;
+
+// Streams scrambles through a solver: at most a small window of lines is in flight at once and results
+// are written in input order as soon as the oldest pending line has been solved.
+public final class BatchSolver {
+    private static final int WINDOW_PER_WORKER = 4;
+    private final Function<CubeState, Solution> solver;
+    private final int concurrency;
+
+    public BatchSolver(Function<CubeState, Solution> solver, int concurrency) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("concurrency must be positive");
+        }
+        this.solver = solver;
+        this.concurrency = concurrency;
+    }
+
+    public Summary run(BufferedReader input, Writer output) throws IOException, InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "batch-solve");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Deque<Future<Result>> pending = new ArrayDeque<>();
+        Summary summary = new Summary();
+        long start = System.nanoTime();
+        try {
+            int lineNumber = 0;
+            String line;
+            while ((line = input.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                int number = lineNumber;
+                String scramble = line.strip();
+                pending.addLast(executor.submit(() -> solve(number, scramble)));
+                if (pending.size() >= concurrency * WINDOW_PER_WORKER) {
+                    write(pending.removeFirst(), output, summary);
+                }
+            }
+            while (!pending.isEmpty()) {
+                write(pending.removeFirst(), output, summary);
+            }
+            output.flush();
+        } finally {
+            executor.shutdownNow();
+        }
+        summary.elapsedNanos = System.nanoTime() - start;
+        return summary;
+    }
+
+    private Result solve(int lineNumber, String scramble) {
+        AlgorithmParseResult parsed = AlgorithmParser.parse(scramble);
+        if (!parsed.isValid()) {
+            return new Result(lineNumber, scramble, null, parsed.errorMessage());
+        }
+        CubeState state = new CubeState();
+        parsed.algorithm().applyTo(state);
+        try {
+            return new Result(lineNumber, scramble, solver.apply(state), null);
+        } catch (RuntimeException e) {
+            return new Result(lineNumber, scramble, null, e.getMessage());
+        }
+    }
+
+    private static void write(Future<Result> future, Writer output, Summary summary)
+        throws IOException, InterruptedException {
+        Result result;
+        try {
+            result = future.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Batch item failed unexpectedly", e.getCause());
+        }
+        output.write(result.format());
+        output.write(System.lineSeparator());
+        summary.record(result);
+    }
+
+    private record Result(int lineNumber, String scramble, Solution solution, String error) {
+        private String format() {
+            if (solution == null) {
+                return lineNumber + "\t" + scramble + "\tERROR\t" + error;
+            }
+            return String.format(Locale.US, "%d\t%s\t%s\t%d\t%.3f ms",
+                lineNumber,
+                scramble,
+                MoveNotation.format(solution.moves()),
+                solution.length(),
+                solution.elapsedNanos() / 1_000_000.0);
+        }
+    }
+
+    public static final class Summary {
+        private long solved;
+        private long failed;
+        private long solveNanos;
+        private long elapsedNanos;
+
+        private void record(Result result) {
+            if (result.solution() == null) {
+                failed++;
+                return;
+            }
+            solved++;
+            solveNanos += result.solution().elapsedNanos();
+        }
+
+        public long solved() {
+            return solved;
+        }
+
+        public long failed() {
+            return failed;
+        }
+
+        public long elapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public double solvesPerSecond() {
+            return elapsedNanos == 0 ? 0 : solved * 1_000_000_000.0 / elapsedNanos;
+        }
+
+        public double averageSolveMillis() {
+            return solved == 0 ? 0 : solveNanos / 1_000_000.0 / solved;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.US, "%d solved, %d failed in %.3f s (%.1f solves/s, %.3f ms average solve)",
+                solved, failed, elapsedNanos / 1_000_000_000.0, solvesPerSecond(), averageSolveMillis());
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package nl.tvn.cube.cli;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import nl.tvn.cube.model.MoveNotation;
+import nl.tvn.cube.solver.Scrambler;
+import nl.tvn.cube.solver.SolverPool;
+
+public final class Scramble {
+    private static final String USAGE = "Usage: Scramble [--count N] [--seed N] [--threads N] [--max-length N] [--output FILE]";
+
+    private Scramble() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        long count = 1;
+        long seed = System.nanoTime();
+        int threads = SolverPool.defaultParallelism();
+        int maxLength = Scrambler.DEFAULT_MAX_LENGTH;
+        String output = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--count" -> count = Long.parseLong(value(args, ++i));
+                case "--seed" -> seed = Long.parseLong(value(args, ++i));
+                case "--threads" -> threads = Integer.parseInt(value(args, ++i));
+                case "--max-length" -> maxLength = Integer.parseInt(value(args, ++i));
+                case "--output" -> output = value(args, ++i);
+                default -> throw new IllegalArgumentException(USAGE);
+            }
+        }
+
+        long start = System.nanoTime();
+        try (Writer writer = output == null
+            ? new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))
+            : Files.newBufferedWriter(Path.of(output), StandardCharsets.UTF_8)) {
+            Scrambler.generate(seed, count, threads, maxLength, scramble -> {
+                try {
+                    writer.write(MoveNotation.format(scramble));
+                    writer.write(System.lineSeparator());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        System.err.println(String.format(Locale.US, "%d scrambles (seed %d) in %.3f s (%.1f scrambles/s)",
+            count, seed, seconds, count / seconds));
+    }
+
+    private static String value(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException(USAGE);
+        }
+        return args[index];
+    }
+}
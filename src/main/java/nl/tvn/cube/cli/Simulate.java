@@ -0,0 +1,124 @@
+package nl.tvn.cube.cli;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import nl.tvn.cube.model.Algorithm;
+import nl.tvn.cube.model.MoveNotation;
+import nl.tvn.cube.viewmodel.AlgorithmParseResult;
+import nl.tvn.cube.viewmodel.AlgorithmParser;
+
+// Headless entry point: only the model, the parser and the CLI package are loaded, never JavaFX.
+public final class Simulate {
+    private static final String USAGE = "Usage: Simulate [--moves ALGORITHM] [--file FILE|-] [--scramble LENGTH]"
+        + " [--seed N] [--repeat N] [--quiet]";
+
+    private Simulate() {
+    }
+
+    // Options are read before any scramble is drawn, so --seed applies wherever it appears.
+    public static void main(String[] args) throws IOException {
+        List<Input> inputs = new ArrayList<>();
+        Long seed = null;
+        long repeat = 1;
+        boolean quiet = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--moves" -> inputs.add(new Input(parse(value(args, ++i), "--moves"), 0));
+                case "--file" -> read(value(args, ++i)).forEach(algorithm -> inputs.add(new Input(algorithm, 0)));
+                case "--scramble" -> inputs.add(new Input(null, (int) number(args, ++i, 0, Integer.MAX_VALUE)));
+                case "--seed" -> seed = number(args, ++i, Long.MIN_VALUE, Long.MAX_VALUE);
+                case "--repeat" -> repeat = number(args, ++i, 1, Long.MAX_VALUE);
+                case "--quiet" -> quiet = true;
+                default -> fail(USAGE);
+            }
+        }
+        if (inputs.isEmpty()) {
+            fail(USAGE);
+        }
+
+        SplittableRandom random = seed == null ? new SplittableRandom() : new SplittableRandom(seed);
+        List<Algorithm> algorithms = new ArrayList<>(inputs.size());
+        for (Input input : inputs) {
+            if (input.algorithm() != null) {
+                algorithms.add(input.algorithm());
+            } else {
+                Algorithm scramble = Simulation.scramble(input.scrambleLength(), random);
+                System.out.println("scramble\t" + MoveNotation.format(scramble.toSequence().asList()));
+                algorithms.add(scramble);
+            }
+        }
+
+        Simulation simulation = new Simulation();
+        for (Algorithm algorithm : algorithms) {
+            simulation.apply(algorithm, repeat);
+        }
+        if (!quiet) {
+            System.out.println("state\t" + simulation.state().toFacelets());
+            System.out.println("solved\t" + simulation.state().isSolved());
+        }
+        System.err.println(simulation);
+    }
+
+    private static List<Algorithm> read(String file) throws IOException {
+        List<Algorithm> algorithms = new ArrayList<>();
+        try (BufferedReader reader = file.equals("-")
+            ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+            : Files.newBufferedReader(Path.of(file), StandardCharsets.UTF_8)) {
+            int lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (!line.isBlank() && !line.strip().startsWith("#")) {
+                    algorithms.add(parse(line, file + ":" + lineNumber));
+                }
+            }
+        }
+        return algorithms;
+    }
+
+    private static Algorithm parse(String input, String source) {
+        AlgorithmParseResult parsed = AlgorithmParser.parse(input);
+        if (!parsed.isValid()) {
+            fail(source + ": " + parsed.errorMessage());
+        }
+        return parsed.algorithm();
+    }
+
+    private static String value(String[] args, int index) {
+        if (index >= args.length) {
+            fail(USAGE);
+        }
+        return args[index];
+    }
+
+    // A number between min and max; anything else is a usage error rather than a NumberFormatException.
+    private static long number(String[] args, int index, long min, long max) {
+        String value = value(args, index);
+        try {
+            long number = Long.parseLong(value);
+            if (number >= min && number <= max) {
+                return number;
+            }
+        } catch (NumberFormatException e) {
+            // Reported as a usage error below.
+        }
+        fail(USAGE);
+        return 0;
+    }
+
+    private static void fail(String message) {
+        System.err.println(message);
+        System.exit(2);
+    }
+
+    // An algorithm from --moves or --file, or the length of a --scramble drawn once all options are read.
+    private record Input(Algorithm algorithm, int scrambleLength) {
+    }
+}
@@ -0,0 +1,81 @@
+package nl.tvn.cube.cli;
+
+import java.util.Locale;
+import java.util.SplittableRandom;
+import nl.tvn.cube.model.Algorithm;
+import nl.tvn.cube.model.CubeState;
+import nl.tvn.cube.model.Move;
+import nl.tvn.cube.model.MoveNotation;
+import nl.tvn.cube.model.MoveSequence;
+
+// Applies algorithms to a CubeState one move at a time, without the view model or JavaFX, and keeps count
+// of the moves applied and the time spent applying them.
+public final class Simulation {
+    private static final String FACES = "FBRLUD";
+    // Algorithms up to this length are expanded once and replayed from the flat move list.
+    private static final long EXPAND_LIMIT = 1 << 20;
+    private final CubeState state = new CubeState();
+    private long moves;
+    private long elapsedNanos;
+
+    public CubeState state() {
+        return state;
+    }
+
+    public long moves() {
+        return moves;
+    }
+
+    public long elapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double movesPerSecond() {
+        return elapsedNanos == 0 ? 0 : moves * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    public void apply(Algorithm algorithm) {
+        apply(algorithm, 1);
+    }
+
+    public void apply(Algorithm algorithm, long repeat) {
+        long start = System.nanoTime();
+        if (algorithm.length() <= EXPAND_LIMIT) {
+            MoveSequence sequence = algorithm.toSequence();
+            for (long r = 0; r < repeat; r++) {
+                sequence.applyTo(state);
+            }
+            moves += sequence.size() * repeat;
+        } else {
+            for (long r = 0; r < repeat; r++) {
+                for (Move move : algorithm) {
+                    state.apply(move);
+                    moves++;
+                }
+            }
+        }
+        elapsedNanos += System.nanoTime() - start;
+    }
+
+    // Random face turns, never turning the same face twice in a row.
+    public static Algorithm scramble(int length, SplittableRandom random) {
+        MoveSequence sequence = new MoveSequence(length);
+        int previous = -1;
+        for (int i = 0; i < length; i++) {
+            int face = random.nextInt(FACES.length() - (previous < 0 ? 0 : 1));
+            if (previous >= 0 && face >= previous) {
+                face++;
+            }
+            int turns = random.nextInt(3) + 1;
+            sequence.add(MoveNotation.face(FACES.charAt(face), turns == 3 ? -1 : turns));
+            previous = face;
+        }
+        return new Algorithm.Moves(sequence);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "%d moves in %.3f s (%.0f moves/s)",
+            moves, elapsedNanos / 1_000_000_000.0, movesPerSecond());
+    }
+}
@@ -0,0 +1,175 @@
+package nl.tvn.cube.model;
+
+import java.util.Iterator;
+import java.util.List;
+
+// Compact form of a parsed algorithm: runs of plain moves are stored as a MoveSequence, and repeats,
+// inverses, commutators and conjugates are kept as nodes. Iterating expands the tree lazily, while
+// compile() evaluates it by composing cube states, so "(R U)1000000" never materializes its moves.
+public sealed interface Algorithm extends Iterable<Move> {
+    Algorithm EMPTY = new Moves(new MoveSequence(0));
+
+    long length();
+
+    CubeState compile();
+
+    default void applyTo(CubeState state) {
+        state.multiply(compile());
+    }
+
+    default MoveSequence toSequence() {
+        long length = length();
+        if (length > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Algorithm expands to " + length + " moves");
+        }
+        MoveSequence sequence = new MoveSequence((int) length);
+        for (Move move : this) {
+            sequence.add(move);
+        }
+        return sequence;
+    }
+
+    @Override
+    default Iterator<Move> iterator() {
+        return new AlgorithmIterator(this);
+    }
+
+    static Algorithm sequence(List<Algorithm> items) {
+        return items.size() == 1 ? items.get(0) : new Sequence(List.copyOf(items));
+    }
+
+    static Algorithm repeat(Algorithm body, long count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("count must be positive");
+        }
+        if (count == 1) {
+            return body;
+        }
+        if (body instanceof Repeat repeat) {
+            return new Repeat(repeat.body(), Math.multiplyExact(repeat.count(), count));
+        }
+        return new Repeat(body, count);
+    }
+
+    // Inverses are pushed down to the moves where that is cheap, so suffix chains like R2'2' stay shallow.
+    static Algorithm inverse(Algorithm body) {
+        if (body instanceof Inverse inverse) {
+            return inverse.body();
+        }
+        if (body instanceof Repeat repeat) {
+            return new Repeat(inverse(repeat.body()), repeat.count());
+        }
+        if (body instanceof Moves moves) {
+            MoveSequence sequence = moves.sequence();
+            MoveSequence inverted = new MoveSequence(sequence.size());
+            for (int i = sequence.size() - 1; i >= 0; i--) {
+                inverted.add(sequence.get(i).inverse());
+            }
+            return new Moves(inverted);
+        }
+        return new Inverse(body);
+    }
+
+    private static long saturatedAdd(long a, long b) {
+        long sum = a + b;
+        return sum < 0 ? Long.MAX_VALUE : sum;
+    }
+
+    private static long saturatedMultiply(long a, long b) {
+        return a != 0 && b > Long.MAX_VALUE / a ? Long.MAX_VALUE : a * b;
+    }
+
+    record Moves(MoveSequence sequence) implements Algorithm {
+        @Override
+        public long length() {
+            return sequence.size();
+        }
+
+        @Override
+        public CubeState compile() {
+            CubeState state = new CubeState();
+            sequence.applyTo(state);
+            return state;
+        }
+    }
+
+    record Sequence(List<Algorithm> items) implements Algorithm {
+        @Override
+        public long length() {
+            long length = 0;
+            for (Algorithm item : items) {
+                length = saturatedAdd(length, item.length());
+            }
+            return length;
+        }
+
+        @Override
+        public CubeState compile() {
+            CubeState state = new CubeState();
+            for (Algorithm item : items) {
+                state.multiply(item.compile());
+            }
+            return state;
+        }
+    }
+
+    record Repeat(Algorithm body, long count) implements Algorithm {
+        @Override
+        public long length() {
+            return saturatedMultiply(body.length(), count);
+        }
+
+        @Override
+        public CubeState compile() {
+            return body.compile().power(count);
+        }
+    }
+
+    record Inverse(Algorithm body) implements Algorithm {
+        @Override
+        public long length() {
+            return body.length();
+        }
+
+        @Override
+        public CubeState compile() {
+            return body.compile().inverse();
+        }
+    }
+
+    // [A, B] = A B A' B'
+    record Commutator(Algorithm first, Algorithm second) implements Algorithm {
+        @Override
+        public long length() {
+            return saturatedMultiply(2, saturatedAdd(first.length(), second.length()));
+        }
+
+        @Override
+        public CubeState compile() {
+            CubeState a = first.compile();
+            CubeState b = second.compile();
+            CubeState state = a.copy();
+            state.multiply(b);
+            state.multiply(a.inverse());
+            state.multiply(b.inverse());
+            return state;
+        }
+    }
+
+    // [A: B] = A B A'
+    record Conjugate(Algorithm setup, Algorithm body) implements Algorithm {
+        @Override
+        public long length() {
+            return saturatedAdd(saturatedMultiply(2, setup.length()), body.length());
+        }
+
+        @Override
+        public CubeState compile() {
+            CubeState a = setup.compile();
+            CubeState state = a.copy();
+            state.multiply(body.compile());
+            state.multiply(a.inverse());
+            return state;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package nl.tvn.cube.model;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+// Depth-first expansion of an Algorithm with an explicit stack of frames, one per open node, so memory
+// is bounded by the nesting depth rather than by the expanded length. An inverted frame walks its parts
+// backwards and inverts each of them.
+final class AlgorithmIterator implements Iterator<Move> {
+    private final Deque<Frame> stack = new ArrayDeque<>();
+    private Move next;
+
+    AlgorithmIterator(Algorithm algorithm) {
+        stack.push(new Frame(algorithm, false));
+        advance();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return next != null;
+    }
+
+    @Override
+    public Move next() {
+        Move move = next;
+        if (move == null) {
+            throw new NoSuchElementException();
+        }
+        advance();
+        return move;
+    }
+
+    private void advance() {
+        next = null;
+        while (next == null && !stack.isEmpty()) {
+            Frame frame = stack.peek();
+            if (frame.position == frame.count) {
+                stack.pop();
+                continue;
+            }
+            long index = frame.inverted ? frame.count - 1 - frame.position : frame.position;
+            frame.position++;
+            if (frame.node instanceof Algorithm.Moves moves) {
+                Move move = moves.sequence().get((int) index);
+                next = frame.inverted ? move.inverse() : move;
+            } else {
+                stack.push(new Frame(part(frame.node, index), frame.inverted ^ isInvertedPart(frame.node, index)));
+            }
+        }
+    }
+
+    private static long partCount(Algorithm node) {
+        if (node instanceof Algorithm.Moves moves) {
+            return moves.sequence().size();
+        }
+        if (node instanceof Algorithm.Sequence sequence) {
+            return sequence.items().size();
+        }
+        if (node instanceof Algorithm.Repeat repeat) {
+            return repeat.count();
+        }
+        if (node instanceof Algorithm.Commutator) {
+            return 4;
+        }
+        if (node instanceof Algorithm.Conjugate) {
+            return 3;
+        }
+        return 1;
+    }
+
+    private static Algorithm part(Algorithm node, long index) {
+        if (node instanceof Algorithm.Sequence sequence) {
+            return sequence.items().get((int) index);
+        }
+        if (node instanceof Algorithm.Repeat repeat) {
+            return repeat.body();
+        }
+        if (node instanceof Algorithm.Inverse inverse) {
+            return inverse.body();
+        }
+        if (node instanceof Algorithm.Commutator commutator) {
+            return index % 2 == 0 ? commutator.first() : commutator.second();
+        }
+        Algorithm.Conjugate conjugate = (Algorithm.Conjugate) node;
+        return index == 1 ? conjugate.body() : conjugate.setup();
+    }
+
+    private static boolean isInvertedPart(Algorithm node, long index) {
+        if (node instanceof Algorithm.Inverse) {
+            return true;
+        }
+        if (node instanceof Algorithm.Commutator) {
+            return index >= 2;
+        }
+        if (node instanceof Algorithm.Conjugate) {
+            return index == 2;
+        }
+        return false;
+    }
+
+    private static final class Frame {
+        private final Algorithm node;
+        private final boolean inverted;
+        private final long count;
+        private long position;
+
+        private Frame(Algorithm node, boolean inverted) {
+            this.node = node;
+            this.inverted = inverted;
+            this.count = partCount(node);
+        }
+    }
+}
@@ -1,7 +1,5 @@
 package nl.tvn.cube.model;
 
-import java.util.Objects;
-
 public final class CubeCoordinate {
     private int x;
     private int y;
@@ -44,6 +42,6 @@ public final class CubeCoordinate {
 
     @Override
     public int hashCode() {
-        return Objects.hash(x, y, z);
+        return (31 * x + y) * 31 + z;
     }
 }
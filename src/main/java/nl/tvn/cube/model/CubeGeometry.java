@@ -0,0 +1,177 @@
+package nl.tvn.cube.model;
+
+import java.util.Arrays;
+
+final class CubeGeometry {
+    static final int POSITION_COUNT = 27;
+    private static final int[][] QUARTER_TURN = buildQuarterTurns();
+
+    // Slot order follows the usual URF/UFL/.. and UR/UF/.. conventions so solvers can share it.
+    static final int[] CORNER_POSITIONS = {
+        index(1, 1, 1),
+        index(-1, 1, 1),
+        index(-1, 1, -1),
+        index(1, 1, -1),
+        index(1, -1, 1),
+        index(-1, -1, 1),
+        index(-1, -1, -1),
+        index(1, -1, -1)
+    };
+    static final int[] EDGE_POSITIONS = {
+        index(1, 1, 0),
+        index(0, 1, 1),
+        index(-1, 1, 0),
+        index(0, 1, -1),
+        index(1, -1, 0),
+        index(0, -1, 1),
+        index(-1, -1, 0),
+        index(0, -1, -1),
+        index(1, 0, 1),
+        index(-1, 0, 1),
+        index(-1, 0, -1),
+        index(1, 0, -1)
+    };
+    static final int[] CENTER_POSITIONS = {
+        index(0, 1, 0),
+        index(1, 0, 0),
+        index(0, 0, 1),
+        index(0, -1, 0),
+        index(-1, 0, 0),
+        index(0, 0, -1)
+    };
+    static final int[][] CORNER_FACELETS = buildCornerFacelets();
+    static final int[][] EDGE_FACELETS = buildEdgeFacelets();
+    static final int[][] CENTER_FACELETS = buildCenterFacelets();
+    static final int[] SLOT_AT = buildSlotLookup();
+    static final int CORE = index(0, 0, 0);
+    private static final int[][] LAYER_POSITIONS = buildLayerPositions();
+
+    private CubeGeometry() {
+    }
+
+    static int index(int x, int y, int z) {
+        return (x + 1) * 9 + (y + 1) * 3 + (z + 1);
+    }
+
+    static int x(int index) {
+        return index / 9 - 1;
+    }
+
+    static int y(int index) {
+        return index / 3 % 3 - 1;
+    }
+
+    static int z(int index) {
+        return index % 3 - 1;
+    }
+
+    static int coordinate(int index, RotationAxis axis) {
+        return switch (axis) {
+            case X -> x(index);
+            case Y -> y(index);
+            case Z -> z(index);
+        };
+    }
+
+    // Occupiable positions in the layers of a layer mask, in ascending position order.
+    static int[] layerPositions(RotationAxis axis, int layerMask) {
+        return LAYER_POSITIONS[axis.ordinal() * (Move.ALL_LAYERS + 1) + layerMask];
+    }
+
+    static int rotate(int index, RotationAxis axis, int turns) {
+        int[] quarterTurn = QUARTER_TURN[axis.ordinal()];
+        int result = index;
+        for (int i = Math.floorMod(turns, 4); i > 0; i--) {
+            result = quarterTurn[result];
+        }
+        return result;
+    }
+
+    private static int[][] buildLayerPositions() {
+        RotationAxis[] axes = RotationAxis.values();
+        int[][] result = new int[axes.length * (Move.ALL_LAYERS + 1)][];
+        for (RotationAxis axis : axes) {
+            for (int mask = 0; mask <= Move.ALL_LAYERS; mask++) {
+                int[] positions = new int[POSITION_COUNT];
+                int count = 0;
+                for (int position = 0; position < POSITION_COUNT; position++) {
+                    if (position != CORE && (mask & Move.layerBit(coordinate(position, axis))) != 0) {
+                        positions[count++] = position;
+                    }
+                }
+                result[axis.ordinal() * (Move.ALL_LAYERS + 1) + mask] = Arrays.copyOf(positions, count);
+            }
+        }
+        return result;
+    }
+
+    private static int[][] buildQuarterTurns() {
+        int[][] result = new int[RotationAxis.values().length][POSITION_COUNT];
+        for (int index = 0; index < POSITION_COUNT; index++) {
+            int x = x(index);
+            int y = y(index);
+            int z = z(index);
+            result[RotationAxis.X.ordinal()][index] = index(x, z, -y);
+            result[RotationAxis.Y.ordinal()][index] = index(-z, y, x);
+            result[RotationAxis.Z.ordinal()][index] = index(y, -x, z);
+        }
+        return result;
+    }
+
+    // Facelets are stored as outward normals; index 0 is the reference facelet that defines orientation 0.
+    private static int[][] buildCornerFacelets() {
+        int[][] result = new int[CORNER_POSITIONS.length][];
+        for (int slot = 0; slot < CORNER_POSITIONS.length; slot++) {
+            int position = CORNER_POSITIONS[slot];
+            int sx = x(position);
+            int sy = y(position);
+            int sz = z(position);
+            int normalY = index(0, sy, 0);
+            int normalX = index(sx, 0, 0);
+            int normalZ = index(0, 0, sz);
+            // Keep the three facelets in clockwise order when looking at the corner from outside.
+            boolean xFollowsY = sx * sy * sz > 0;
+            result[slot] = xFollowsY
+                ? new int[] { normalY, normalX, normalZ }
+                : new int[] { normalY, normalZ, normalX };
+        }
+        return result;
+    }
+
+    private static int[][] buildEdgeFacelets() {
+        int[][] result = new int[EDGE_POSITIONS.length][];
+        for (int slot = 0; slot < EDGE_POSITIONS.length; slot++) {
+            int position = EDGE_POSITIONS[slot];
+            int x = x(position);
+            int y = y(position);
+            int z = z(position);
+            result[slot] = y != 0
+                ? new int[] { index(0, y, 0), index(x, 0, z) }
+                : new int[] { index(0, 0, z), index(x, 0, 0) };
+        }
+        return result;
+    }
+
+    private static int[][] buildCenterFacelets() {
+        int[][] result = new int[CENTER_POSITIONS.length][];
+        for (int slot = 0; slot < CENTER_POSITIONS.length; slot++) {
+            result[slot] = new int[] { CENTER_POSITIONS[slot] };
+        }
+        return result;
+    }
+
+    private static int[] buildSlotLookup() {
+        int[] result = new int[POSITION_COUNT];
+        Arrays.fill(result, -1);
+        for (int slot = 0; slot < CORNER_POSITIONS.length; slot++) {
+            result[CORNER_POSITIONS[slot]] = slot;
+        }
+        for (int slot = 0; slot < EDGE_POSITIONS.length; slot++) {
+            result[EDGE_POSITIONS[slot]] = slot;
+        }
+        for (int slot = 0; slot < CENTER_POSITIONS.length; slot++) {
+            result[CENTER_POSITIONS[slot]] = slot;
+        }
+        return result;
+    }
+}
@@ -5,10 +5,18 @@ import java.util.Collections;
 import java.util.List;
 
 public final class CubeModel {
+    public static final int CUBIE_COUNT = 26;
     private final List<CubieModel> cubies;
+    private final CubieModel[] occupants;
+    private final CubieModel[] moving;
+    private final CubeState state;
 
     public CubeModel() {
         this.cubies = buildIdentityCube();
+        this.occupants = new CubieModel[CubeGeometry.POSITION_COUNT];
+        this.moving = new CubieModel[CUBIE_COUNT];
+        this.state = new CubeState();
+        indexOccupants();
     }
 
     public List<CubieModel> cubies() {
@@ -24,10 +32,87 @@ public final class CubeModel {
                         continue;
                     }
                     cubies.get(index).coordinate().set(x, y, z);
+                    cubies.get(index).resetRotation();
                     index++;
                 }
             }
         }
+        indexOccupants();
+        state.reset();
+    }
+
+    public CubieModel occupant(int x, int y, int z) {
+        return occupants[CubeGeometry.index(x, y, z)];
+    }
+
+    // Copies the cubies in the layers of the move into target and returns how many there are.
+    public int affectedCubies(Move move, CubieModel[] target) {
+        int[] positions = CubeGeometry.layerPositions(move.axis(), move.layerMask());
+        for (int i = 0; i < positions.length; i++) {
+            target[i] = occupants[positions[i]];
+        }
+        return positions.length;
+    }
+
+    public CubeState state() {
+        return state.copy();
+    }
+
+    public boolean isSolved() {
+        return state.isSolved();
+    }
+
+    public void apply(Move move) {
+        int tableIndex = MoveTable.tableIndex(move);
+        if (tableIndex < 0) {
+            return;
+        }
+        int[] positions = CubeGeometry.layerPositions(move.axis(), move.layerMask());
+        for (int i = 0; i < positions.length; i++) {
+            moving[i] = occupants[positions[i]];
+        }
+        for (int i = 0; i < positions.length; i++) {
+            int target = MoveTable.positionTarget(tableIndex, positions[i]);
+            occupants[target] = moving[i];
+            moving[i].coordinate().set(CubeGeometry.x(target), CubeGeometry.y(target), CubeGeometry.z(target));
+            moving[i].turn(move.axis(), move.quarterTurns());
+        }
+        state.apply(tableIndex);
+    }
+
+    public void save(Snapshot snapshot) {
+        for (int i = 0; i < CUBIE_COUNT; i++) {
+            CubieModel cubie = cubies.get(i);
+            CubeCoordinate coordinate = cubie.coordinate();
+            snapshot.positions[i] = (byte) CubeGeometry.index(coordinate.x(), coordinate.y(), coordinate.z());
+            snapshot.rotations[i] = (byte) cubie.rotation();
+        }
+        snapshot.state.set(state);
+    }
+
+    public void restore(Snapshot snapshot) {
+        for (int i = 0; i < CUBIE_COUNT; i++) {
+            CubieModel cubie = cubies.get(i);
+            int position = snapshot.positions[i];
+            cubie.coordinate().set(CubeGeometry.x(position), CubeGeometry.y(position), CubeGeometry.z(position));
+            cubie.setRotation(snapshot.rotations[i]);
+        }
+        indexOccupants();
+        state.set(snapshot.state);
+    }
+
+    private void indexOccupants() {
+        for (CubieModel cubie : cubies) {
+            CubeCoordinate coordinate = cubie.coordinate();
+            occupants[CubeGeometry.index(coordinate.x(), coordinate.y(), coordinate.z())] = cubie;
+        }
+    }
+
+    // Position and rotation of every cubie plus the piece state; preallocated so saving does not allocate.
+    public static final class Snapshot {
+        private final byte[] positions = new byte[CUBIE_COUNT];
+        private final byte[] rotations = new byte[CUBIE_COUNT];
+        private final CubeState state = new CubeState();
     }
 
     private List<CubieModel> buildIdentityCube() {
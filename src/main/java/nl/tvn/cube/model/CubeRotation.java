@@ -0,0 +1,96 @@
+package nl.tvn.cube.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// The 24 rotations of the cube as exact integer matrices in model coordinates, numbered with the identity
+// first. Turning a cubie is a table lookup from its current rotation, so orientations never drift.
+public final class CubeRotation {
+    public static final int COUNT = 24;
+    public static final int IDENTITY = 0;
+    private static final int TURN_COUNT = 4;
+    private static final int AXIS_COUNT = RotationAxis.values().length;
+    private static final int[][] MATRICES = buildMatrices();
+    private static final int[] TURNS = buildTurns();
+
+    private CubeRotation() {
+    }
+
+    public static int turn(int rotation, RotationAxis axis, int quarterTurns) {
+        return TURNS[(rotation * AXIS_COUNT + axis.ordinal()) * TURN_COUNT
+            + Math.floorMod(quarterTurns, TURN_COUNT)];
+    }
+
+    // Entry of the rotation matrix that maps the cubie's home orientation to its current one.
+    public static int matrix(int rotation, int row, int column) {
+        return MATRICES[rotation][row * 3 + column];
+    }
+
+    private static int[][] buildMatrices() {
+        List<int[]> matrices = new ArrayList<>();
+        matrices.add(new int[] { 1, 0, 0, 0, 1, 0, 0, 0, 1 });
+        for (int i = 0; i < matrices.size(); i++) {
+            for (RotationAxis axis : RotationAxis.values()) {
+                int[] next = multiply(quarterTurn(axis), matrices.get(i));
+                if (indexOf(matrices, next) < 0) {
+                    matrices.add(next);
+                }
+            }
+        }
+        return matrices.toArray(new int[0][]);
+    }
+
+    private static int[] buildTurns() {
+        List<int[]> matrices = Arrays.asList(MATRICES);
+        RotationAxis[] axes = RotationAxis.values();
+        int[] turns = new int[COUNT * axes.length * TURN_COUNT];
+        for (int rotation = 0; rotation < COUNT; rotation++) {
+            for (RotationAxis axis : axes) {
+                int[] current = MATRICES[rotation];
+                for (int quarterTurns = 0; quarterTurns < TURN_COUNT; quarterTurns++) {
+                    turns[(rotation * axes.length + axis.ordinal()) * TURN_COUNT + quarterTurns] = indexOf(matrices, current);
+                    current = multiply(quarterTurn(axis), current);
+                }
+            }
+        }
+        return turns;
+    }
+
+    // Column c is where a whole-cube quarter turn about the axis takes the unit vector along axis c.
+    private static int[] quarterTurn(RotationAxis axis) {
+        int tableIndex = MoveTable.tableIndex(axis, Move.ALL_LAYERS, 1);
+        int[] matrix = new int[9];
+        for (int column = 0; column < 3; column++) {
+            int unit = CubeGeometry.index(column == 0 ? 1 : 0, column == 1 ? 1 : 0, column == 2 ? 1 : 0);
+            int target = MoveTable.positionTarget(tableIndex, unit);
+            matrix[column] = CubeGeometry.x(target);
+            matrix[3 + column] = CubeGeometry.y(target);
+            matrix[6 + column] = CubeGeometry.z(target);
+        }
+        return matrix;
+    }
+
+    private static int[] multiply(int[] left, int[] right) {
+        int[] product = new int[9];
+        for (int row = 0; row < 3; row++) {
+            for (int column = 0; column < 3; column++) {
+                int sum = 0;
+                for (int k = 0; k < 3; k++) {
+                    sum += left[row * 3 + k] * right[k * 3 + column];
+                }
+                product[row * 3 + column] = sum;
+            }
+        }
+        return product;
+    }
+
+    private static int indexOf(List<int[]> matrices, int[] matrix) {
+        for (int i = 0; i < matrices.size(); i++) {
+            if (Arrays.equals(matrices.get(i), matrix)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,312 @@
+package nl.tvn.cube.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public final class CubeState {
+    public static final int CORNER_COUNT = 8;
+    public static final int EDGE_COUNT = 12;
+    public static final int CENTER_COUNT = 6;
+
+    // Packed layout: the high word holds 5 bits per corner slot (piece, then twist in bits 3-4) followed by
+    // 3 bits per centre slot from bit 40; the low word holds 5 bits per edge slot (piece, then flip in bit 4).
+    static final int CORNER_BITS = 5;
+    static final int EDGE_BITS = 5;
+    static final int CENTER_BITS = 3;
+    static final int CENTER_SHIFT = CORNER_COUNT * CORNER_BITS;
+
+    private static final CubeState[] ROTATIONS = buildRotations();
+
+    private final byte[] cornerPermutation = new byte[CORNER_COUNT];
+    private final byte[] cornerOrientation = new byte[CORNER_COUNT];
+    private final byte[] edgePermutation = new byte[EDGE_COUNT];
+    private final byte[] edgeOrientation = new byte[EDGE_COUNT];
+    private final byte[] centerPermutation = new byte[CENTER_COUNT];
+    private final byte[] scratchPermutation = new byte[EDGE_COUNT];
+    private final byte[] scratchOrientation = new byte[EDGE_COUNT];
+
+    public CubeState() {
+        reset();
+    }
+
+    // A state with centres in place, built from piece permutations and orientations in the slot order and
+    // orientation conventions of the accessors below. Only the shape of the arrays is checked, not solvability.
+    public static CubeState of(int[] cornerPermutation, int[] cornerOrientation, int[] edgePermutation, int[] edgeOrientation) {
+        CubeState state = new CubeState();
+        copyPieces(cornerPermutation, cornerOrientation, 3, state.cornerPermutation, state.cornerOrientation);
+        copyPieces(edgePermutation, edgeOrientation, 2, state.edgePermutation, state.edgeOrientation);
+        return state;
+    }
+
+    // The inverse of packedHigh and packedLow. Like of, this checks that each piece appears once but not
+    // that the state is solvable.
+    public static CubeState fromPacked(long high, long low) {
+        int[] cornerPermutation = new int[CORNER_COUNT];
+        int[] cornerOrientation = new int[CORNER_COUNT];
+        for (int slot = 0; slot < CORNER_COUNT; slot++) {
+            int bits = (int) (high >>> (slot * CORNER_BITS)) & 0x1F;
+            cornerPermutation[slot] = bits & 0x7;
+            cornerOrientation[slot] = bits >>> 3;
+        }
+        int[] edgePermutation = new int[EDGE_COUNT];
+        int[] edgeOrientation = new int[EDGE_COUNT];
+        for (int slot = 0; slot < EDGE_COUNT; slot++) {
+            int bits = (int) (low >>> (slot * EDGE_BITS)) & 0x1F;
+            edgePermutation[slot] = bits & 0xF;
+            edgeOrientation[slot] = bits >>> 4;
+        }
+        CubeState state = of(cornerPermutation, cornerOrientation, edgePermutation, edgeOrientation);
+        int[] centerPermutation = new int[CENTER_COUNT];
+        for (int slot = 0; slot < CENTER_COUNT; slot++) {
+            centerPermutation[slot] = (int) (high >>> (CENTER_SHIFT + slot * CENTER_BITS)) & 0x7;
+        }
+        copyPieces(centerPermutation, new int[CENTER_COUNT], 1, state.centerPermutation, new byte[CENTER_COUNT]);
+        return state;
+    }
+
+    private static void copyPieces(int[] permutation, int[] orientation, int orientations, byte[] targetPermutation,
+        byte[] targetOrientation) {
+        int count = targetPermutation.length;
+        if (permutation.length != count || orientation.length != count) {
+            throw new IllegalArgumentException("Expected " + count + " pieces");
+        }
+        boolean[] seen = new boolean[count];
+        for (int i = 0; i < count; i++) {
+            if (permutation[i] < 0 || permutation[i] >= count || seen[permutation[i]]) {
+                throw new IllegalArgumentException("Not a permutation of " + count + " pieces");
+            }
+            if (orientation[i] < 0 || orientation[i] >= orientations) {
+                throw new IllegalArgumentException("Orientation out of range: " + orientation[i]);
+            }
+            seen[permutation[i]] = true;
+            targetPermutation[i] = (byte) permutation[i];
+            targetOrientation[i] = (byte) orientation[i];
+        }
+    }
+
+    public void reset() {
+        identity(cornerPermutation);
+        identity(edgePermutation);
+        identity(centerPermutation);
+        Arrays.fill(cornerOrientation, (byte) 0);
+        Arrays.fill(edgeOrientation, (byte) 0);
+    }
+
+    public void set(CubeState other) {
+        System.arraycopy(other.cornerPermutation, 0, cornerPermutation, 0, CORNER_COUNT);
+        System.arraycopy(other.cornerOrientation, 0, cornerOrientation, 0, CORNER_COUNT);
+        System.arraycopy(other.edgePermutation, 0, edgePermutation, 0, EDGE_COUNT);
+        System.arraycopy(other.edgeOrientation, 0, edgeOrientation, 0, EDGE_COUNT);
+        System.arraycopy(other.centerPermutation, 0, centerPermutation, 0, CENTER_COUNT);
+    }
+
+    public CubeState copy() {
+        CubeState copy = new CubeState();
+        copy.set(this);
+        return copy;
+    }
+
+    public int cornerPermutation(int slot) {
+        return cornerPermutation[slot];
+    }
+
+    public int cornerOrientation(int slot) {
+        return cornerOrientation[slot];
+    }
+
+    public int edgePermutation(int slot) {
+        return edgePermutation[slot];
+    }
+
+    public int edgeOrientation(int slot) {
+        return edgeOrientation[slot];
+    }
+
+    public int centerPermutation(int slot) {
+        return centerPermutation[slot];
+    }
+
+    public void apply(Move move) {
+        int tableIndex = MoveTable.tableIndex(move);
+        if (tableIndex >= 0) {
+            apply(tableIndex);
+        }
+    }
+
+    // Takes a MoveTable.tableIndex, not a Move.index().
+    public void apply(int tableIndex) {
+        System.arraycopy(cornerPermutation, 0, scratchPermutation, 0, CORNER_COUNT);
+        System.arraycopy(cornerOrientation, 0, scratchOrientation, 0, CORNER_COUNT);
+        for (int slot = 0; slot < CORNER_COUNT; slot++) {
+            int source = MoveTable.cornerSource(tableIndex, slot);
+            cornerPermutation[slot] = scratchPermutation[source];
+            cornerOrientation[slot] = (byte) ((scratchOrientation[source] + MoveTable.cornerTwist(tableIndex, slot)) % 3);
+        }
+        System.arraycopy(edgePermutation, 0, scratchPermutation, 0, EDGE_COUNT);
+        System.arraycopy(edgeOrientation, 0, scratchOrientation, 0, EDGE_COUNT);
+        for (int slot = 0; slot < EDGE_COUNT; slot++) {
+            int source = MoveTable.edgeSource(tableIndex, slot);
+            edgePermutation[slot] = scratchPermutation[source];
+            edgeOrientation[slot] = (byte) (scratchOrientation[source] ^ MoveTable.edgeFlip(tableIndex, slot));
+        }
+        System.arraycopy(centerPermutation, 0, scratchPermutation, 0, CENTER_COUNT);
+        for (int slot = 0; slot < CENTER_COUNT; slot++) {
+            centerPermutation[slot] = scratchPermutation[MoveTable.centerSource(tableIndex, slot)];
+        }
+    }
+
+    // Composes this state with another one, as if the moves that produced other were applied afterwards.
+    public void multiply(CubeState other) {
+        System.arraycopy(cornerPermutation, 0, scratchPermutation, 0, CORNER_COUNT);
+        System.arraycopy(cornerOrientation, 0, scratchOrientation, 0, CORNER_COUNT);
+        for (int slot = 0; slot < CORNER_COUNT; slot++) {
+            int source = other.cornerPermutation[slot];
+            cornerPermutation[slot] = scratchPermutation[source];
+            cornerOrientation[slot] = (byte) ((scratchOrientation[source] + other.cornerOrientation[slot]) % 3);
+        }
+        System.arraycopy(edgePermutation, 0, scratchPermutation, 0, EDGE_COUNT);
+        System.arraycopy(edgeOrientation, 0, scratchOrientation, 0, EDGE_COUNT);
+        for (int slot = 0; slot < EDGE_COUNT; slot++) {
+            int source = other.edgePermutation[slot];
+            edgePermutation[slot] = scratchPermutation[source];
+            edgeOrientation[slot] = (byte) (scratchOrientation[source] ^ other.edgeOrientation[slot]);
+        }
+        System.arraycopy(centerPermutation, 0, scratchPermutation, 0, CENTER_COUNT);
+        for (int slot = 0; slot < CENTER_COUNT; slot++) {
+            centerPermutation[slot] = scratchPermutation[other.centerPermutation[slot]];
+        }
+    }
+
+    public CubeState inverse() {
+        CubeState inverse = new CubeState();
+        for (int slot = 0; slot < CORNER_COUNT; slot++) {
+            inverse.cornerPermutation[cornerPermutation[slot]] = (byte) slot;
+            inverse.cornerOrientation[cornerPermutation[slot]] = (byte) ((3 - cornerOrientation[slot]) % 3);
+        }
+        for (int slot = 0; slot < EDGE_COUNT; slot++) {
+            inverse.edgePermutation[edgePermutation[slot]] = (byte) slot;
+            inverse.edgeOrientation[edgePermutation[slot]] = edgeOrientation[slot];
+        }
+        for (int slot = 0; slot < CENTER_COUNT; slot++) {
+            inverse.centerPermutation[centerPermutation[slot]] = (byte) slot;
+        }
+        return inverse;
+    }
+
+    public CubeState power(long exponent) {
+        if (exponent < 0) {
+            throw new IllegalArgumentException("exponent must not be negative");
+        }
+        CubeState result = new CubeState();
+        CubeState square = copy();
+        for (long remaining = exponent; remaining > 0; remaining >>= 1) {
+            if ((remaining & 1) != 0) {
+                result.multiply(square);
+            }
+            if (remaining > 1) {
+                square.multiply(square.copy());
+            }
+        }
+        return result;
+    }
+
+    // 64-bit Zobrist hash of the state, computed from all slots. HashedCubeState keeps the same hash up to
+    // date move by move for callers that need it after every move.
+    public long zobristHash() {
+        return ZobristKeys.hash(this);
+    }
+
+    // Corners and centres packed into one long; together with packedLow this identifies the state exactly.
+    public long packedHigh() {
+        long packed = 0;
+        for (int slot = 0; slot < CORNER_COUNT; slot++) {
+            packed |= (long) (cornerPermutation[slot] | cornerOrientation[slot] << 3) << (slot * CORNER_BITS);
+        }
+        for (int slot = 0; slot < CENTER_COUNT; slot++) {
+            packed |= (long) centerPermutation[slot] << (CENTER_SHIFT + slot * CENTER_BITS);
+        }
+        return packed;
+    }
+
+    // Edges packed into one long.
+    public long packedLow() {
+        long packed = 0;
+        for (int slot = 0; slot < EDGE_COUNT; slot++) {
+            packed |= (long) (edgePermutation[slot] | edgeOrientation[slot] << 4) << (slot * EDGE_BITS);
+        }
+        return packed;
+    }
+
+    public boolean isIdentity() {
+        return equals(ROTATIONS[0]);
+    }
+
+    public boolean isSolved() {
+        for (CubeState rotation : ROTATIONS) {
+            if (equals(rotation)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // 54 letters in URFDLB face order, each naming the face the sticker shows on the solved cube.
+    public String toFacelets() {
+        return FaceletFormat.format(this);
+    }
+
+    private static void identity(byte[] permutation) {
+        for (int i = 0; i < permutation.length; i++) {
+            permutation[i] = (byte) i;
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CubeState that)) {
+            return false;
+        }
+        return Arrays.equals(cornerPermutation, that.cornerPermutation)
+            && Arrays.equals(cornerOrientation, that.cornerOrientation)
+            && Arrays.equals(edgePermutation, that.edgePermutation)
+            && Arrays.equals(edgeOrientation, that.edgeOrientation)
+            && Arrays.equals(centerPermutation, that.centerPermutation);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(zobristHash());
+    }
+
+    @Override
+    public String toString() {
+        return "CubeState[cp=" + Arrays.toString(cornerPermutation)
+            + ", co=" + Arrays.toString(cornerOrientation)
+            + ", ep=" + Arrays.toString(edgePermutation)
+            + ", eo=" + Arrays.toString(edgeOrientation)
+            + ", centers=" + Arrays.toString(centerPermutation) + "]";
+    }
+
+    private static CubeState[] buildRotations() {
+        Move[] generators = {
+            Move.of(RotationAxis.X, Move.ALL_LAYERS, 1),
+            Move.of(RotationAxis.Y, Move.ALL_LAYERS, 1)
+        };
+        List<CubeState> rotations = new ArrayList<>();
+        rotations.add(new CubeState());
+        for (int i = 0; i < rotations.size(); i++) {
+            for (Move generator : generators) {
+                CubeState next = rotations.get(i).copy();
+                next.apply(generator);
+                if (!rotations.contains(next)) {
+                    rotations.add(next);
+                }
+            }
+        }
+        return rotations.toArray(new CubeState[0]);
+    }
+}
@@ -2,6 +2,7 @@ package nl.tvn.cube.model;
 
 public final class CubieModel {
     private final CubeCoordinate coordinate;
+    private int rotation = CubeRotation.IDENTITY;
 
     public CubieModel(int x, int y, int z) {
         this.coordinate = new CubeCoordinate(x, y, z);
@@ -10,4 +11,21 @@ public final class CubieModel {
     public CubeCoordinate coordinate() {
         return coordinate;
     }
+
+    // Index into CubeRotation of the rotation applied to this cubie since the cube was solved.
+    public int rotation() {
+        return rotation;
+    }
+
+    void turn(RotationAxis axis, int quarterTurns) {
+        rotation = CubeRotation.turn(rotation, axis, quarterTurns);
+    }
+
+    void resetRotation() {
+        rotation = CubeRotation.IDENTITY;
+    }
+
+    void setRotation(int rotation) {
+        this.rotation = rotation;
+    }
 }
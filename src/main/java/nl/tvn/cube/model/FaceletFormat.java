@@ -0,0 +1,100 @@
+package nl.tvn.cube.model;
+
+// The 54-letter facelet string used by most cube tools: faces in U R F D L B order, each read row by row
+// as seen from outside with U at the top (B at the top for U, F at the top for D). Each letter names the
+// face a sticker belonged to on the solved cube.
+final class FaceletFormat {
+    private static final String FACES = "URFDLB";
+    private static final int[][] FACE_AXES = {
+        // normal x, y, z; row direction x, y, z; column direction x, y, z
+        { 0, 1, 0, 0, 0, 1, 1, 0, 0 },
+        { 1, 0, 0, 0, -1, 0, 0, 0, -1 },
+        { 0, 0, 1, 0, -1, 0, 1, 0, 0 },
+        { 0, -1, 0, 0, 0, -1, 1, 0, 0 },
+        { -1, 0, 0, 0, -1, 0, 0, 0, 1 },
+        { 0, 0, -1, 0, -1, 0, -1, 0, 0 }
+    };
+    private static final int FACELET_COUNT = 54;
+    // Per facelet: piece kind (0 corner, 1 edge, 2 center), slot and index into that slot's facelets.
+    private static final int[] KIND = new int[FACELET_COUNT];
+    private static final int[] SLOT = new int[FACELET_COUNT];
+    private static final int[] INDEX = new int[FACELET_COUNT];
+
+    static {
+        int facelet = 0;
+        for (int[] axes : FACE_AXES) {
+            int normal = CubeGeometry.index(axes[0], axes[1], axes[2]);
+            for (int row = -1; row <= 1; row++) {
+                for (int column = -1; column <= 1; column++) {
+                    int position = CubeGeometry.index(
+                        axes[0] + row * axes[3] + column * axes[6],
+                        axes[1] + row * axes[4] + column * axes[7],
+                        axes[2] + row * axes[5] + column * axes[8]);
+                    int nonZero = Math.abs(CubeGeometry.x(position)) + Math.abs(CubeGeometry.y(position))
+                        + Math.abs(CubeGeometry.z(position));
+                    KIND[facelet] = 3 - nonZero;
+                    SLOT[facelet] = CubeGeometry.SLOT_AT[position];
+                    INDEX[facelet] = indexOf(facelets(KIND[facelet])[SLOT[facelet]], normal);
+                    facelet++;
+                }
+            }
+        }
+    }
+
+    private FaceletFormat() {
+    }
+
+    static String format(CubeState state) {
+        StringBuilder builder = new StringBuilder(FACELET_COUNT);
+        for (int facelet = 0; facelet < FACELET_COUNT; facelet++) {
+            int slot = SLOT[facelet];
+            int[][] facelets = facelets(KIND[facelet]);
+            int piece;
+            int orientation;
+            switch (KIND[facelet]) {
+                case 0 -> {
+                    piece = state.cornerPermutation(slot);
+                    orientation = state.cornerOrientation(slot);
+                }
+                case 1 -> {
+                    piece = state.edgePermutation(slot);
+                    orientation = state.edgeOrientation(slot);
+                }
+                default -> {
+                    piece = state.centerPermutation(slot);
+                    orientation = 0;
+                }
+            }
+            int size = facelets[piece].length;
+            builder.append(face(facelets[piece][Math.floorMod(INDEX[facelet] - orientation, size)]));
+        }
+        return builder.toString();
+    }
+
+    private static int[][] facelets(int kind) {
+        return switch (kind) {
+            case 0 -> CubeGeometry.CORNER_FACELETS;
+            case 1 -> CubeGeometry.EDGE_FACELETS;
+            default -> CubeGeometry.CENTER_FACELETS;
+        };
+    }
+
+    private static char face(int normal) {
+        for (int face = 0; face < FACE_AXES.length; face++) {
+            int[] axes = FACE_AXES[face];
+            if (CubeGeometry.index(axes[0], axes[1], axes[2]) == normal) {
+                return FACES.charAt(face);
+            }
+        }
+        throw new IllegalStateException("Not a face normal: " + normal);
+    }
+
+    private static int indexOf(int[] values, int value) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == value) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Facelet " + value + " not found");
+    }
+}
@@ -0,0 +1,73 @@
+package nl.tvn.cube.model;
+
+// A cube state whose Zobrist hash is kept up to date move by move: a move XORs out the keys of the slots it
+// changes, is applied, and XORs in their new contents. CubeState.apply itself stays hash-free, so only
+// callers that read the hash after every move, such as a search deduplicating states in a PackedStateSet,
+// pay for it.
+public final class HashedCubeState {
+    private final CubeState state = new CubeState();
+    private long hash = state.zobristHash();
+
+    public HashedCubeState() {
+    }
+
+    public HashedCubeState(CubeState state) {
+        set(state);
+    }
+
+    public void reset() {
+        state.reset();
+        hash = state.zobristHash();
+    }
+
+    public void set(CubeState other) {
+        state.set(other);
+        hash = state.zobristHash();
+    }
+
+    public void apply(Move move) {
+        int tableIndex = MoveTable.tableIndex(move);
+        if (tableIndex >= 0) {
+            apply(tableIndex);
+        }
+    }
+
+    // Takes a MoveTable.tableIndex, not a Move.index().
+    public void apply(int tableIndex) {
+        hash ^= movedKeys(tableIndex);
+        state.apply(tableIndex);
+        hash ^= movedKeys(tableIndex);
+    }
+
+    // Equal to state().zobristHash().
+    public long hash() {
+        return hash;
+    }
+
+    public long packedHigh() {
+        return state.packedHigh();
+    }
+
+    public long packedLow() {
+        return state.packedLow();
+    }
+
+    // A copy, so the hash cannot fall out of step with the state.
+    public CubeState state() {
+        return state.copy();
+    }
+
+    private long movedKeys(int tableIndex) {
+        long keys = 0;
+        for (int slot : MoveTable.movedCorners(tableIndex)) {
+            keys ^= ZobristKeys.corner(slot, state.cornerPermutation(slot), state.cornerOrientation(slot));
+        }
+        for (int slot : MoveTable.movedEdges(tableIndex)) {
+            keys ^= ZobristKeys.edge(slot, state.edgePermutation(slot), state.edgeOrientation(slot));
+        }
+        for (int slot : MoveTable.movedCenters(tableIndex)) {
+            keys ^= ZobristKeys.center(slot, state.centerPermutation(slot));
+        }
+        return keys;
+    }
+}
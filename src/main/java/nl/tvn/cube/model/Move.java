@@ -1,11 +1,123 @@
 package nl.tvn.cube.model;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
-public record Move(RotationAxis axis, Set<Integer> layers, int quarterTurns) {
+public record Move(RotationAxis axis, int layerMask, int quarterTurns) {
+    public static final int ALL_LAYERS = 0b111;
+    public static final int CANONICAL_COUNT = RotationAxis.values().length * ALL_LAYERS * 4;
+    private static final List<Set<Integer>> LAYER_SETS = buildLayerSets();
+    private static final Move[] CANONICAL = buildCanonical();
+
     public Move {
         if (quarterTurns == 0) {
             throw new IllegalArgumentException("quarterTurns must be non-zero");
         }
+        if (layerMask < 1 || layerMask > ALL_LAYERS) {
+            throw new IllegalArgumentException("layerMask must select at least one of the layers -1, 0 and 1");
+        }
+    }
+
+    public Move(RotationAxis axis, Set<Integer> layers, int quarterTurns) {
+        this(axis, layerMask(layers), quarterTurns);
+    }
+
+    public static Move of(RotationAxis axis, int layerMask, int quarterTurns) {
+        int turns = normalizeTurns(quarterTurns);
+        if (turns == 0) {
+            throw new IllegalArgumentException("quarterTurns must not be a multiple of four");
+        }
+        return CANONICAL[index(axis, layerMask, turns)];
+    }
+
+    public static Move fromIndex(int index) {
+        return CANONICAL[index];
+    }
+
+    public static int layerBit(int layer) {
+        return 1 << (layer + 1);
+    }
+
+    public static int layerMask(Set<Integer> layers) {
+        int mask = 0;
+        for (int layer = -1; layer <= 1; layer++) {
+            if (layers.contains(layer)) {
+                mask |= layerBit(layer);
+            }
+        }
+        return mask;
+    }
+
+    public Set<Integer> layers() {
+        return LAYER_SETS.get(layerMask);
+    }
+
+    public boolean affectsLayer(int layer) {
+        return (layerMask & layerBit(layer)) != 0;
+    }
+
+    // Position among the CANONICAL_COUNT canonical moves (see fromIndex), or -1 for a whole number of turns.
+    // The move tables use their own numbering, MoveTable.tableIndex.
+    public int index() {
+        int turns = normalizeTurns(quarterTurns);
+        return turns == 0 ? -1 : index(axis, layerMask, turns);
+    }
+
+    public Move canonical() {
+        int index = index();
+        return index < 0 ? this : CANONICAL[index];
+    }
+
+    public Move inverse() {
+        return of(axis, layerMask, -quarterTurns);
+    }
+
+    private static int index(RotationAxis axis, int layerMask, int normalizedTurns) {
+        if (layerMask < 1 || layerMask > ALL_LAYERS) {
+            throw new IllegalArgumentException("layerMask must select at least one of the layers -1, 0 and 1");
+        }
+        int turnSlot = normalizedTurns < 0 ? normalizedTurns + 2 : normalizedTurns + 1;
+        return ((axis.ordinal() * ALL_LAYERS) + layerMask - 1) * 4 + turnSlot;
+    }
+
+    // Canonical turns are -2, -1, 1 and 2 so that the animation direction of half turns is preserved.
+    private static int normalizeTurns(int turns) {
+        int normalized = turns % 4;
+        if (normalized == 3) {
+            return -1;
+        }
+        if (normalized == -3) {
+            return 1;
+        }
+        return normalized;
+    }
+
+    private static List<Set<Integer>> buildLayerSets() {
+        List<Set<Integer>> sets = new ArrayList<>();
+        for (int mask = 0; mask <= ALL_LAYERS; mask++) {
+            Set<Integer> layers = new HashSet<>();
+            for (int layer = -1; layer <= 1; layer++) {
+                if ((mask & layerBit(layer)) != 0) {
+                    layers.add(layer);
+                }
+            }
+            sets.add(Set.copyOf(layers));
+        }
+        return List.copyOf(sets);
+    }
+
+    private static Move[] buildCanonical() {
+        Move[] result = new Move[CANONICAL_COUNT];
+        int[] turns = { -2, -1, 1, 2 };
+        for (RotationAxis axis : RotationAxis.values()) {
+            for (int mask = 1; mask <= ALL_LAYERS; mask++) {
+                for (int turn : turns) {
+                    result[index(axis, mask, turn)] = new Move(axis, mask, turn);
+                }
+            }
+        }
+        return result;
     }
 }
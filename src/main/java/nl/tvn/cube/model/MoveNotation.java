@@ -0,0 +1,93 @@
+package nl.tvn.cube.model;
+
+import java.util.List;
+import java.util.StringJoiner;
+
+public final class MoveNotation {
+    private static final int POSITIVE_LAYER = Move.layerBit(1);
+    private static final int MIDDLE_LAYER = Move.layerBit(0);
+    private static final int NEGATIVE_LAYER = Move.layerBit(-1);
+
+    private static final char[] TOKENS = { 'F', 'B', 'R', 'L', 'U', 'D', 'M', 'E', 'S', 'X', 'Y', 'Z' };
+    private static final char[] WIDE_TOKENS = { 'F', 'B', 'R', 'L', 'U', 'D' };
+
+    private MoveNotation() {
+    }
+
+    public static Move face(char token, int turns) {
+        return switch (token) {
+            case 'F' -> Move.of(RotationAxis.Z, POSITIVE_LAYER, turns);
+            case 'B' -> Move.of(RotationAxis.Z, NEGATIVE_LAYER, -turns);
+            case 'R' -> Move.of(RotationAxis.X, POSITIVE_LAYER, turns);
+            case 'L' -> Move.of(RotationAxis.X, NEGATIVE_LAYER, -turns);
+            case 'U' -> Move.of(RotationAxis.Y, POSITIVE_LAYER, turns);
+            case 'D' -> Move.of(RotationAxis.Y, NEGATIVE_LAYER, -turns);
+            case 'M' -> Move.of(RotationAxis.X, MIDDLE_LAYER, turns);
+            case 'E' -> Move.of(RotationAxis.Y, MIDDLE_LAYER, turns);
+            case 'S' -> Move.of(RotationAxis.Z, MIDDLE_LAYER, turns);
+            case 'X' -> Move.of(RotationAxis.X, Move.ALL_LAYERS, turns);
+            case 'Y' -> Move.of(RotationAxis.Y, Move.ALL_LAYERS, turns);
+            case 'Z' -> Move.of(RotationAxis.Z, Move.ALL_LAYERS, turns);
+            default -> null;
+        };
+    }
+
+    public static Move wide(char token, int turns) {
+        return switch (token) {
+            case 'R' -> Move.of(RotationAxis.X, POSITIVE_LAYER | MIDDLE_LAYER, turns);
+            case 'L' -> Move.of(RotationAxis.X, NEGATIVE_LAYER | MIDDLE_LAYER, -turns);
+            case 'U' -> Move.of(RotationAxis.Y, POSITIVE_LAYER | MIDDLE_LAYER, turns);
+            case 'D' -> Move.of(RotationAxis.Y, NEGATIVE_LAYER | MIDDLE_LAYER, -turns);
+            case 'F' -> Move.of(RotationAxis.Z, POSITIVE_LAYER | MIDDLE_LAYER, turns);
+            case 'B' -> Move.of(RotationAxis.Z, NEGATIVE_LAYER | MIDDLE_LAYER, -turns);
+            default -> null;
+        };
+    }
+
+    // Every canonical move gets parser-compatible notation: face, slice and rotation tokens, wide moves as
+    // Rw, and the two outer layers turning together (which has no token of its own) as a pair such as R L'.
+    // Half turns print as X2 in either direction.
+    public static String format(Move move) {
+        Move canonical = move.canonical();
+        for (char token : TOKENS) {
+            String suffix = suffix(canonical, face(token, 1));
+            if (suffix != null) {
+                return token + suffix;
+            }
+        }
+        for (char token : WIDE_TOKENS) {
+            String suffix = suffix(canonical, wide(token, 1));
+            if (suffix != null) {
+                return token + "w" + suffix;
+            }
+        }
+        if (canonical.layerMask() == (POSITIVE_LAYER | NEGATIVE_LAYER)) {
+            int turns = canonical.quarterTurns();
+            return format(Move.of(canonical.axis(), POSITIVE_LAYER, turns)) + " "
+                + format(Move.of(canonical.axis(), NEGATIVE_LAYER, turns));
+        }
+        return move.toString();
+    }
+
+    public static String format(List<Move> moves) {
+        StringJoiner joiner = new StringJoiner(" ");
+        for (Move move : moves) {
+            joiner.add(format(move));
+        }
+        return joiner.toString();
+    }
+
+    private static String suffix(Move move, Move clockwise) {
+        if (move.equals(clockwise)) {
+            return "";
+        }
+        if (move.equals(clockwise.inverse())) {
+            return "'";
+        }
+        Move half = Move.of(clockwise.axis(), clockwise.layerMask(), clockwise.quarterTurns() * 2);
+        if (move.equals(half) || move.equals(half.inverse())) {
+            return "2";
+        }
+        return null;
+    }
+}
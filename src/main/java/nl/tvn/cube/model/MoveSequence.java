@@ -0,0 +1,99 @@
+package nl.tvn.cube.model;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+public final class MoveSequence {
+    private static final int DEFAULT_CAPACITY = 16;
+    private byte[] moves;
+    private int size;
+
+    public MoveSequence() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public MoveSequence(int capacity) {
+        this.moves = new byte[Math.max(1, capacity)];
+    }
+
+    public static MoveSequence of(List<Move> moves) {
+        MoveSequence sequence = new MoveSequence(moves.size());
+        for (Move move : moves) {
+            sequence.add(move);
+        }
+        return sequence;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void add(Move move) {
+        add(move, 1);
+    }
+
+    public void add(Move move, int repeat) {
+        int index = move.index();
+        if (index < 0 || repeat <= 0) {
+            return;
+        }
+        ensureCapacity(size + repeat);
+        Arrays.fill(moves, size, size + repeat, (byte) index);
+        size += repeat;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public int index(int position) {
+        return moves[checkPosition(position)];
+    }
+
+    public Move get(int position) {
+        return Move.fromIndex(moves[checkPosition(position)]);
+    }
+
+    public void applyTo(CubeState state) {
+        for (int i = 0; i < size; i++) {
+            state.apply(Move.fromIndex(moves[i]));
+        }
+    }
+
+    public List<Move> asList() {
+        return new MoveList();
+    }
+
+    private int checkPosition(int position) {
+        if (position < 0 || position >= size) {
+            throw new IndexOutOfBoundsException("Position " + position + " out of bounds for size " + size);
+        }
+        return position;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= moves.length) {
+            return;
+        }
+        int capacity = Math.max(required, moves.length + (moves.length >> 1));
+        moves = Arrays.copyOf(moves, capacity);
+    }
+
+    private final class MoveList extends AbstractList<Move> implements RandomAccess {
+        @Override
+        public Move get(int index) {
+            return MoveSequence.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
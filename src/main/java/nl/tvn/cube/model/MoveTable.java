@@ -0,0 +1,171 @@
+package nl.tvn.cube.model;
+
+import java.util.Arrays;
+
+// Moves have two numberings. Move.index() counts the canonical moves (turns -2, -1, 1 and 2, so a half
+// turn keeps its animation direction) and is what move queues and histories store. A table index counts
+// the distinct permutations (turns 1, 2 and 3, MOVE_COUNT of them) and is what these tables, and
+// CubeState.apply(int), take. TABLE_INDEX maps the first onto the second.
+public final class MoveTable {
+    public static final int LAYER_MASK_COUNT = 7;
+    public static final int TURN_COUNT = 3;
+    public static final int MOVE_COUNT = RotationAxis.values().length * LAYER_MASK_COUNT * TURN_COUNT;
+    private static final int CORNERS = CubeState.CORNER_COUNT;
+    private static final int EDGES = CubeState.EDGE_COUNT;
+    private static final int CENTERS = CubeState.CENTER_COUNT;
+    private static final int POSITIONS = CubeGeometry.POSITION_COUNT;
+
+    // Tables are stored in "replaced by" form: slot s receives the piece from SOURCE[s] with DELTA[s] added.
+    private static final byte[] CORNER_SOURCE = new byte[MOVE_COUNT * CORNERS];
+    private static final byte[] CORNER_TWIST = new byte[MOVE_COUNT * CORNERS];
+    private static final byte[] EDGE_SOURCE = new byte[MOVE_COUNT * EDGES];
+    private static final byte[] EDGE_FLIP = new byte[MOVE_COUNT * EDGES];
+    private static final byte[] CENTER_SOURCE = new byte[MOVE_COUNT * CENTERS];
+    private static final byte[] POSITION_TARGET = new byte[MOVE_COUNT * POSITIONS];
+    // Per move, the slots whose contents change; a face turn leaves half the corners and most edges alone.
+    private static final byte[][] MOVED_CORNERS = new byte[MOVE_COUNT][];
+    private static final byte[][] MOVED_EDGES = new byte[MOVE_COUNT][];
+    private static final byte[][] MOVED_CENTERS = new byte[MOVE_COUNT][];
+    private static final byte[] TABLE_INDEX = buildTableIndex();
+
+    static {
+        for (RotationAxis axis : RotationAxis.values()) {
+            for (int layerMask = 1; layerMask <= LAYER_MASK_COUNT; layerMask++) {
+                for (int turns = 1; turns <= TURN_COUNT; turns++) {
+                    buildMove(tableIndex(axis, layerMask, turns), axis, layerMask, turns);
+                }
+            }
+        }
+    }
+
+    private MoveTable() {
+    }
+
+    public static int tableIndex(Move move) {
+        int index = move.index();
+        return index < 0 ? -1 : TABLE_INDEX[index];
+    }
+
+    public static int tableIndex(RotationAxis axis, int layerMask, int quarterTurns) {
+        int turns = Math.floorMod(quarterTurns, 4);
+        if (layerMask < 1 || layerMask > LAYER_MASK_COUNT || turns == 0) {
+            return -1;
+        }
+        return (axis.ordinal() * LAYER_MASK_COUNT + layerMask - 1) * TURN_COUNT + turns - 1;
+    }
+
+    static int cornerSource(int tableIndex, int slot) {
+        return CORNER_SOURCE[tableIndex * CORNERS + slot];
+    }
+
+    static int cornerTwist(int tableIndex, int slot) {
+        return CORNER_TWIST[tableIndex * CORNERS + slot];
+    }
+
+    static int edgeSource(int tableIndex, int slot) {
+        return EDGE_SOURCE[tableIndex * EDGES + slot];
+    }
+
+    static int edgeFlip(int tableIndex, int slot) {
+        return EDGE_FLIP[tableIndex * EDGES + slot];
+    }
+
+    static int centerSource(int tableIndex, int slot) {
+        return CENTER_SOURCE[tableIndex * CENTERS + slot];
+    }
+
+    static byte[] movedCorners(int tableIndex) {
+        return MOVED_CORNERS[tableIndex];
+    }
+
+    static byte[] movedEdges(int tableIndex) {
+        return MOVED_EDGES[tableIndex];
+    }
+
+    static byte[] movedCenters(int tableIndex) {
+        return MOVED_CENTERS[tableIndex];
+    }
+
+    static int positionTarget(int tableIndex, int position) {
+        return POSITION_TARGET[tableIndex * POSITIONS + position];
+    }
+
+    private static byte[] buildTableIndex() {
+        byte[] result = new byte[Move.CANONICAL_COUNT];
+        for (int index = 0; index < result.length; index++) {
+            Move move = Move.fromIndex(index);
+            result[index] = (byte) tableIndex(move.axis(), move.layerMask(), move.quarterTurns());
+        }
+        return result;
+    }
+
+    private static void buildMove(int tableIndex, RotationAxis axis, int layerMask, int turns) {
+        byte[] permutation = new byte[EDGES];
+        byte[] orientation = new byte[EDGES];
+
+        turnIdentity(CubeGeometry.CORNER_POSITIONS, CubeGeometry.CORNER_FACELETS, permutation, orientation, axis, layerMask, turns);
+        System.arraycopy(permutation, 0, CORNER_SOURCE, tableIndex * CORNERS, CORNERS);
+        System.arraycopy(orientation, 0, CORNER_TWIST, tableIndex * CORNERS, CORNERS);
+        MOVED_CORNERS[tableIndex] = movedSlots(permutation, orientation, CORNERS);
+
+        turnIdentity(CubeGeometry.EDGE_POSITIONS, CubeGeometry.EDGE_FACELETS, permutation, orientation, axis, layerMask, turns);
+        System.arraycopy(permutation, 0, EDGE_SOURCE, tableIndex * EDGES, EDGES);
+        System.arraycopy(orientation, 0, EDGE_FLIP, tableIndex * EDGES, EDGES);
+        MOVED_EDGES[tableIndex] = movedSlots(permutation, orientation, EDGES);
+
+        turnIdentity(CubeGeometry.CENTER_POSITIONS, CubeGeometry.CENTER_FACELETS, permutation, orientation, axis, layerMask, turns);
+        System.arraycopy(permutation, 0, CENTER_SOURCE, tableIndex * CENTERS, CENTERS);
+        MOVED_CENTERS[tableIndex] = movedSlots(permutation, orientation, CENTERS);
+
+        for (int position = 0; position < POSITIONS; position++) {
+            boolean inLayer = (layerMask & Move.layerBit(CubeGeometry.coordinate(position, axis))) != 0;
+            int target = inLayer ? CubeGeometry.rotate(position, axis, turns) : position;
+            POSITION_TARGET[tableIndex * POSITIONS + position] = (byte) target;
+        }
+    }
+
+    private static void turnIdentity(
+        int[] positions,
+        int[][] facelets,
+        byte[] permutation,
+        byte[] orientation,
+        RotationAxis axis,
+        int layerMask,
+        int turns
+    ) {
+        for (int slot = 0; slot < positions.length; slot++) {
+            permutation[slot] = (byte) slot;
+            orientation[slot] = 0;
+        }
+        for (int slot = 0; slot < positions.length; slot++) {
+            int position = positions[slot];
+            if ((layerMask & Move.layerBit(CubeGeometry.coordinate(position, axis))) == 0) {
+                continue;
+            }
+            int target = CubeGeometry.SLOT_AT[CubeGeometry.rotate(position, axis, turns)];
+            int facelet = CubeGeometry.rotate(facelets[slot][0], axis, turns);
+            permutation[target] = (byte) slot;
+            orientation[target] = (byte) indexOf(facelets[target], facelet);
+        }
+    }
+
+    private static byte[] movedSlots(byte[] permutation, byte[] orientation, int count) {
+        byte[] moved = new byte[count];
+        int size = 0;
+        for (int slot = 0; slot < count; slot++) {
+            if (permutation[slot] != slot || orientation[slot] != 0) {
+                moved[size++] = (byte) slot;
+            }
+        }
+        return Arrays.copyOf(moved, size);
+    }
+
+    private static int indexOf(int[] values, int value) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == value) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Facelet " + value + " not found");
+    }
+}
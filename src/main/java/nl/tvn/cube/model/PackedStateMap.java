@@ -0,0 +1,98 @@
+package nl.tvn.cube.model;
+
+// Map from cube states, stored as their two packed words, to int values such as search depths or case
+// numbers. An entry takes 20 bytes of table space and no objects. As with PackedStateSet, the
+// HashedCubeState overloads reuse its running hash.
+public final class PackedStateMap extends PackedStateTable {
+    private int[] values;
+    private int[] resizing;
+
+    public PackedStateMap() {
+        this(0);
+    }
+
+    public PackedStateMap(int expectedSize) {
+        super(expectedSize);
+        this.values = new int[capacity()];
+    }
+
+    public int get(HashedCubeState state, int missing) {
+        return get(state.hash(), state.packedHigh(), state.packedLow(), missing);
+    }
+
+    public int get(CubeState state, int missing) {
+        return get(state.zobristHash(), state.packedHigh(), state.packedLow(), missing);
+    }
+
+    public int get(long high, long low, int missing) {
+        return get(ZobristKeys.hash(high, low), high, low, missing);
+    }
+
+    public boolean containsKey(HashedCubeState state) {
+        return indexOf(state.hash(), state.packedHigh(), state.packedLow()) >= 0;
+    }
+
+    public boolean containsKey(CubeState state) {
+        return indexOf(state.zobristHash(), state.packedHigh(), state.packedLow()) >= 0;
+    }
+
+    public boolean containsKey(long high, long low) {
+        return indexOf(ZobristKeys.hash(high, low), high, low) >= 0;
+    }
+
+    public void put(HashedCubeState state, int value) {
+        put(state.hash(), state.packedHigh(), state.packedLow(), value);
+    }
+
+    public void put(CubeState state, int value) {
+        put(state.zobristHash(), state.packedHigh(), state.packedLow(), value);
+    }
+
+    public void put(long high, long low, int value) {
+        put(ZobristKeys.hash(high, low), high, low, value);
+    }
+
+    // Stores the value unless the state is already present and returns the value now in the map.
+    public int putIfAbsent(HashedCubeState state, int value) {
+        return putIfAbsent(state.hash(), state.packedHigh(), state.packedLow(), value);
+    }
+
+    public int putIfAbsent(long high, long low, int value) {
+        return putIfAbsent(ZobristKeys.hash(high, low), high, low, value);
+    }
+
+    @Override
+    void resize(int capacity) {
+        resizing = values;
+        values = new int[capacity];
+        super.resize(capacity);
+        resizing = null;
+    }
+
+    @Override
+    void moved(int from, int to) {
+        values[to] = resizing[from];
+    }
+
+    private int get(long hash, long high, long low, int missing) {
+        int index = indexOf(hash, high, low);
+        return index >= 0 ? values[index] : missing;
+    }
+
+    private void put(long hash, long high, long low, int value) {
+        int index = indexOf(hash, high, low);
+        if (index < 0) {
+            index = insert(hash, high, low, index);
+        }
+        values[index] = value;
+    }
+
+    private int putIfAbsent(long hash, long high, long low, int value) {
+        int index = indexOf(hash, high, low);
+        if (index >= 0) {
+            return values[index];
+        }
+        values[insert(hash, high, low, index)] = value;
+        return value;
+    }
+}
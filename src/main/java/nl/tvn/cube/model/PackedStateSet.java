@@ -0,0 +1,47 @@
+package nl.tvn.cube.model;
+
+// Set of cube states stored as their two packed words, for duplicate detection over millions of states.
+// Adding a HashedCubeState reuses its running hash; the other overloads compute the hash from all slots.
+public final class PackedStateSet extends PackedStateTable {
+    public PackedStateSet() {
+        this(0);
+    }
+
+    public PackedStateSet(int expectedSize) {
+        super(expectedSize);
+    }
+
+    // Each add returns false if the state was already in the set.
+    public boolean add(HashedCubeState state) {
+        return add(state.hash(), state.packedHigh(), state.packedLow());
+    }
+
+    public boolean add(CubeState state) {
+        return add(state.zobristHash(), state.packedHigh(), state.packedLow());
+    }
+
+    public boolean add(long high, long low) {
+        return add(ZobristKeys.hash(high, low), high, low);
+    }
+
+    public boolean contains(HashedCubeState state) {
+        return indexOf(state.hash(), state.packedHigh(), state.packedLow()) >= 0;
+    }
+
+    public boolean contains(CubeState state) {
+        return indexOf(state.zobristHash(), state.packedHigh(), state.packedLow()) >= 0;
+    }
+
+    public boolean contains(long high, long low) {
+        return indexOf(ZobristKeys.hash(high, low), high, low) >= 0;
+    }
+
+    private boolean add(long hash, long high, long low) {
+        int index = indexOf(hash, high, low);
+        if (index >= 0) {
+            return false;
+        }
+        insert(hash, high, low, index);
+        return true;
+    }
+}
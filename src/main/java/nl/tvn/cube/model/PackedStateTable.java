@@ -0,0 +1,107 @@
+package nl.tvn.cube.model;
+
+import java.util.Arrays;
+
+// Open-addressing hash table of packed states (CubeState.packedHigh and packedLow) kept in two parallel
+// long arrays with linear probing, so an entry costs two longs plus what a subclass stores beside it and
+// no objects. Slots are picked by the low bits of the state's Zobrist hash, which callers holding a
+// HashedCubeState already have. A high word of zero marks an empty slot: no state packs to one, since its
+// corners differ.
+abstract class PackedStateTable {
+    static final int MAX_CAPACITY = 1 << 30;
+    private static final int MIN_CAPACITY = 16;
+    private long[] highs;
+    private long[] lows;
+    private int size;
+
+    PackedStateTable(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("expectedSize must not be negative");
+        }
+        allocate(capacityFor(expectedSize));
+    }
+
+    public final int size() {
+        return size;
+    }
+
+    public final boolean isEmpty() {
+        return size == 0;
+    }
+
+    public final void clear() {
+        Arrays.fill(highs, 0L);
+        size = 0;
+    }
+
+    final int capacity() {
+        return highs.length;
+    }
+
+    // The slot holding the key, or -1 - the empty slot where it would go. hash must be the Zobrist hash of
+    // the packed state.
+    final int indexOf(long hash, long high, long low) {
+        if (high == 0) {
+            throw new IllegalArgumentException("Not a packed state: high word is zero");
+        }
+        int mask = highs.length - 1;
+        for (int index = (int) hash & mask; ; index = (index + 1) & mask) {
+            long current = highs[index];
+            if (current == high && lows[index] == low) {
+                return index;
+            }
+            if (current == 0) {
+                return -1 - index;
+            }
+        }
+    }
+
+    // Stores a key that indexOf did not find and returns its slot, which moves if the table has to grow.
+    final int insert(long hash, long high, long low, int missingIndex) {
+        int index = -1 - missingIndex;
+        if ((long) (size + 1) * 4 > (long) highs.length * 3) {
+            if (highs.length == MAX_CAPACITY) {
+                throw new IllegalStateException("Packed state table is full");
+            }
+            resize(highs.length * 2);
+            index = -1 - indexOf(hash, high, low);
+        }
+        highs[index] = high;
+        lows[index] = low;
+        size++;
+        return index;
+    }
+
+    void resize(int capacity) {
+        long[] oldHighs = highs;
+        long[] oldLows = lows;
+        allocate(capacity);
+        for (int from = 0; from < oldHighs.length; from++) {
+            long high = oldHighs[from];
+            if (high != 0) {
+                long low = oldLows[from];
+                int to = -1 - indexOf(ZobristKeys.hash(high, low), high, low);
+                highs[to] = high;
+                lows[to] = low;
+                moved(from, to);
+            }
+        }
+    }
+
+    // Called by resize for every entry, after the keys have moved to their slot in the new arrays.
+    void moved(int from, int to) {
+    }
+
+    private void allocate(int capacity) {
+        highs = new long[capacity];
+        lows = new long[capacity];
+    }
+
+    private static int capacityFor(int expectedSize) {
+        long needed = Math.max(MIN_CAPACITY, ((long) expectedSize * 4 + 2) / 3);
+        if (needed > MAX_CAPACITY) {
+            throw new IllegalArgumentException("expectedSize too large: " + expectedSize);
+        }
+        return Integer.highestOneBit((int) needed - 1) << 1;
+    }
+}
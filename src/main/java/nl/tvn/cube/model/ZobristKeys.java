@@ -0,0 +1,75 @@
+package nl.tvn.cube.model;
+
+import java.util.SplittableRandom;
+
+// One random 64-bit key per (slot, piece, orientation). A state's hash is the XOR of the keys of what sits
+// in each slot, so a move changes it by XOR-ing out the old and in the new contents of the slots it moves
+// (see HashedCubeState).
+// The seed is fixed so hashes stay the same between runs.
+final class ZobristKeys {
+    private static final long SEED = 0x5DEECE66DL;
+    // Indexed by slot, piece and orientation packed into bit fields, which is cheaper than multiplying.
+    private static final long[] CORNER = new long[CubeState.CORNER_COUNT << 5];
+    private static final long[] EDGE = new long[CubeState.EDGE_COUNT << 5];
+    private static final long[] CENTER = new long[CubeState.CENTER_COUNT << 3];
+
+    static {
+        SplittableRandom random = new SplittableRandom(SEED);
+        fill(CORNER, random);
+        fill(EDGE, random);
+        fill(CENTER, random);
+    }
+
+    private ZobristKeys() {
+    }
+
+    static long corner(int slot, int piece, int orientation) {
+        return CORNER[slot << 5 | piece << 2 | orientation];
+    }
+
+    static long edge(int slot, int piece, int orientation) {
+        return EDGE[slot << 5 | piece << 1 | orientation];
+    }
+
+    static long center(int slot, int piece) {
+        return CENTER[slot << 3 | piece];
+    }
+
+    static long hash(CubeState state) {
+        long hash = 0;
+        for (int slot = 0; slot < CubeState.CORNER_COUNT; slot++) {
+            hash ^= corner(slot, state.cornerPermutation(slot), state.cornerOrientation(slot));
+        }
+        for (int slot = 0; slot < CubeState.EDGE_COUNT; slot++) {
+            hash ^= edge(slot, state.edgePermutation(slot), state.edgeOrientation(slot));
+        }
+        for (int slot = 0; slot < CubeState.CENTER_COUNT; slot++) {
+            hash ^= center(slot, state.centerPermutation(slot));
+        }
+        return hash;
+    }
+
+    // The same hash read straight from CubeState.packedHigh and packedLow, whose fields are laid out like
+    // the key indexes apart from the order of piece and orientation.
+    static long hash(long high, long low) {
+        long hash = 0;
+        for (int slot = 0; slot < CubeState.CORNER_COUNT; slot++) {
+            int bits = (int) (high >>> (slot * CubeState.CORNER_BITS)) & 0x1F;
+            hash ^= corner(slot, bits & 0x7, bits >>> 3);
+        }
+        for (int slot = 0; slot < CubeState.EDGE_COUNT; slot++) {
+            int bits = (int) (low >>> (slot * CubeState.EDGE_BITS)) & 0x1F;
+            hash ^= edge(slot, bits & 0xF, bits >>> 4);
+        }
+        for (int slot = 0; slot < CubeState.CENTER_COUNT; slot++) {
+            hash ^= center(slot, (int) (high >>> (CubeState.CENTER_SHIFT + slot * CubeState.CENTER_BITS)) & 0x7);
+        }
+        return hash;
+    }
+
+    private static void fill(long[] keys, SplittableRandom random) {
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextLong();
+        }
+    }
+}
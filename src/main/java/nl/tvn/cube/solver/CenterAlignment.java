@@ -0,0 +1,131 @@
+package nl.tvn.cube.solver;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import nl.tvn.cube.model.CubeState;
+import nl.tvn.cube.model.Move;
+import nl.tvn.cube.model.MoveNotation;
+import nl.tvn.cube.model.RotationAxis;
+
+// Solvers work on states with the centers at home; slice moves and rotations are undone by a
+// whole-cube rotation and the resulting face moves are mapped back into the caller's frame.
+final class CenterAlignment {
+    private static final Map<Integer, List<Move>> ROTATIONS = buildRotations();
+    private static final CubeState[] FACE_MOVE_STATES = buildFaceMoveStates();
+
+    private final CubeState alignedState;
+    private final int[] faceMoveInFrame;
+
+    private CenterAlignment(CubeState alignedState, int[] faceMoveInFrame) {
+        this.alignedState = alignedState;
+        this.faceMoveInFrame = faceMoveInFrame;
+    }
+
+    static CenterAlignment of(CubeState state) {
+        List<Move> rotation = ROTATIONS.get(centerKey(state));
+        if (rotation == null) {
+            throw new IllegalArgumentException("Cube state has an impossible center arrangement");
+        }
+        CubeState aligned = state.copy();
+        for (Move move : rotation) {
+            aligned.apply(move);
+        }
+        return new CenterAlignment(aligned, conjugateFaceMoves(rotation));
+    }
+
+    CubeState alignedState() {
+        return alignedState;
+    }
+
+    Move toMove(int faceMove) {
+        return faceMove(faceMoveInFrame[faceMove]);
+    }
+
+    static Move faceMove(int faceMove) {
+        return MoveNotation.face(CubieCube.FACES[faceMove / 3], faceMove % 3 + 1);
+    }
+
+    // A face move m in the aligned frame equals Q m Q' in the original frame, where Q is the alignment rotation.
+    private static int[] conjugateFaceMoves(List<Move> rotation) {
+        int[] result = new int[CubieCube.FACE_MOVE_COUNT];
+        CubeState conjugate = new CubeState();
+        for (int faceMove = 0; faceMove < CubieCube.FACE_MOVE_COUNT; faceMove++) {
+            conjugate.reset();
+            for (Move move : rotation) {
+                conjugate.apply(move);
+            }
+            conjugate.apply(faceMove(faceMove));
+            for (int i = rotation.size() - 1; i >= 0; i--) {
+                conjugate.apply(rotation.get(i).inverse());
+            }
+            result[faceMove] = indexOfFaceMove(conjugate);
+        }
+        return result;
+    }
+
+    private static int indexOfFaceMove(CubeState state) {
+        for (int faceMove = 0; faceMove < FACE_MOVE_STATES.length; faceMove++) {
+            if (FACE_MOVE_STATES[faceMove].equals(state)) {
+                return faceMove;
+            }
+        }
+        throw new IllegalStateException("Conjugated move is not a face move");
+    }
+
+    private static int centerKey(CubeState state) {
+        int key = 0;
+        for (int slot = 0; slot < CubeState.CENTER_COUNT; slot++) {
+            key = key * CubeState.CENTER_COUNT + state.centerPermutation(slot);
+        }
+        return key;
+    }
+
+    // Maps each reachable center arrangement to the rotation that brings the centers back home.
+    private static Map<Integer, List<Move>> buildRotations() {
+        Move[] generators = {
+            Move.of(RotationAxis.X, Move.ALL_LAYERS, 1),
+            Move.of(RotationAxis.Y, Move.ALL_LAYERS, 1)
+        };
+        Map<Integer, List<Move>> result = new HashMap<>();
+        List<CubeState> frontier = new ArrayList<>();
+        List<List<Move>> words = new ArrayList<>();
+        frontier.add(new CubeState());
+        words.add(List.of());
+        result.put(centerKey(frontier.get(0)), List.of());
+        for (int i = 0; i < frontier.size(); i++) {
+            for (Move generator : generators) {
+                CubeState next = frontier.get(i).copy();
+                next.apply(generator);
+                int key = centerKey(next);
+                if (result.containsKey(key)) {
+                    continue;
+                }
+                List<Move> word = new ArrayList<>(words.get(i));
+                word.add(generator);
+                frontier.add(next);
+                words.add(List.copyOf(word));
+                result.put(key, inverse(word));
+            }
+        }
+        return Map.copyOf(result);
+    }
+
+    private static List<Move> inverse(List<Move> word) {
+        List<Move> result = new ArrayList<>(word.size());
+        for (int i = word.size() - 1; i >= 0; i--) {
+            result.add(word.get(i).inverse());
+        }
+        return List.copyOf(result);
+    }
+
+    private static CubeState[] buildFaceMoveStates() {
+        CubeState[] result = new CubeState[CubieCube.FACE_MOVE_COUNT];
+        for (int faceMove = 0; faceMove < result.length; faceMove++) {
+            result[faceMove] = new CubeState();
+            result[faceMove].apply(faceMove(faceMove));
+        }
+        return result;
+    }
+}
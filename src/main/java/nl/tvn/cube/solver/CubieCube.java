@@ -0,0 +1,319 @@
+package nl.tvn.cube.solver;
+
+import nl.tvn.cube.model.CubeState;
+import nl.tvn.cube.model.MoveNotation;
+
+final class CubieCube {
+    static final int CORNERS = CubeState.CORNER_COUNT;
+    static final int EDGES = CubeState.EDGE_COUNT;
+    static final int FIRST_SLICE_EDGE = 8;
+    static final int FACE_MOVE_COUNT = 18;
+    static final int SUBSET_EDGES = 6;
+    static final int EDGE_SUBSET_PERMUTATION_COUNT = 665280;
+    static final int EDGE_SUBSET_ORIENTATION_COUNT = 1 << SUBSET_EDGES;
+    static final char[] FACES = { 'U', 'R', 'F', 'D', 'L', 'B' };
+    static final CubieCube[] FACE_MOVES = buildFaceMoves();
+    private static final int[] FACTORIAL = { 1, 1, 2, 6, 24, 120, 720, 5040, 40320, 362880, 3628800, 39916800, 479001600 };
+    private static final int[][] BINOMIAL = buildBinomials();
+
+    final int[] cp = new int[CORNERS];
+    final int[] co = new int[CORNERS];
+    final int[] ep = new int[EDGES];
+    final int[] eo = new int[EDGES];
+    private final int[] scratchPermutation = new int[EDGES];
+    private final int[] scratchOrientation = new int[EDGES];
+
+    CubieCube() {
+        for (int i = 0; i < CORNERS; i++) {
+            cp[i] = i;
+        }
+        for (int i = 0; i < EDGES; i++) {
+            ep[i] = i;
+        }
+    }
+
+    static CubieCube from(CubeState state) {
+        CubieCube cube = new CubieCube();
+        for (int i = 0; i < CORNERS; i++) {
+            cube.cp[i] = state.cornerPermutation(i);
+            cube.co[i] = state.cornerOrientation(i);
+        }
+        for (int i = 0; i < EDGES; i++) {
+            cube.ep[i] = state.edgePermutation(i);
+            cube.eo[i] = state.edgeOrientation(i);
+        }
+        return cube;
+    }
+
+    void set(CubieCube other) {
+        System.arraycopy(other.cp, 0, cp, 0, CORNERS);
+        System.arraycopy(other.co, 0, co, 0, CORNERS);
+        System.arraycopy(other.ep, 0, ep, 0, EDGES);
+        System.arraycopy(other.eo, 0, eo, 0, EDGES);
+    }
+
+    void multiply(CubieCube b) {
+        multiplyCorners(b);
+        multiplyEdges(b);
+    }
+
+    void multiplyCorners(CubieCube b) {
+        System.arraycopy(cp, 0, scratchPermutation, 0, CORNERS);
+        System.arraycopy(co, 0, scratchOrientation, 0, CORNERS);
+        for (int i = 0; i < CORNERS; i++) {
+            cp[i] = scratchPermutation[b.cp[i]];
+            co[i] = (scratchOrientation[b.cp[i]] + b.co[i]) % 3;
+        }
+    }
+
+    void multiplyEdges(CubieCube b) {
+        System.arraycopy(ep, 0, scratchPermutation, 0, EDGES);
+        System.arraycopy(eo, 0, scratchOrientation, 0, EDGES);
+        for (int i = 0; i < EDGES; i++) {
+            ep[i] = scratchPermutation[b.ep[i]];
+            eo[i] = scratchOrientation[b.ep[i]] ^ b.eo[i];
+        }
+    }
+
+    boolean isSolvable() {
+        if (!isPermutation(cp, CORNERS) || !isPermutation(ep, EDGES)) {
+            return false;
+        }
+        int twist = 0;
+        for (int value : co) {
+            twist += value;
+        }
+        int flip = 0;
+        for (int value : eo) {
+            flip += value;
+        }
+        return twist % 3 == 0 && flip % 2 == 0 && parity(cp, CORNERS) == parity(ep, EDGES);
+    }
+
+    boolean isSolved() {
+        for (int i = 0; i < CORNERS; i++) {
+            if (cp[i] != i || co[i] != 0) {
+                return false;
+            }
+        }
+        for (int i = 0; i < EDGES; i++) {
+            if (ep[i] != i || eo[i] != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    int twist() {
+        int result = 0;
+        for (int i = 0; i < CORNERS - 1; i++) {
+            result = result * 3 + co[i];
+        }
+        return result;
+    }
+
+    void setTwist(int twist) {
+        int sum = 0;
+        for (int i = CORNERS - 2; i >= 0; i--) {
+            co[i] = twist % 3;
+            sum += co[i];
+            twist /= 3;
+        }
+        co[CORNERS - 1] = (3 - sum % 3) % 3;
+    }
+
+    int flip() {
+        int result = 0;
+        for (int i = 0; i < EDGES - 1; i++) {
+            result = result * 2 + eo[i];
+        }
+        return result;
+    }
+
+    void setFlip(int flip) {
+        int sum = 0;
+        for (int i = EDGES - 2; i >= 0; i--) {
+            eo[i] = flip & 1;
+            sum += eo[i];
+            flip >>= 1;
+        }
+        eo[EDGES - 1] = sum & 1;
+    }
+
+    // Position of the four E-slice edges, ignoring their order; 0 when they are in their home slots.
+    int slice() {
+        int result = 0;
+        int found = 0;
+        for (int slot = EDGES - 1; slot >= 0; slot--) {
+            if (ep[slot] >= FIRST_SLICE_EDGE) {
+                found++;
+                result += BINOMIAL[EDGES - 1 - slot][found];
+            }
+        }
+        return result;
+    }
+
+    void setSliceMask(int slotMask) {
+        int sliceEdge = FIRST_SLICE_EDGE;
+        int otherEdge = 0;
+        for (int slot = 0; slot < EDGES; slot++) {
+            ep[slot] = (slotMask & (1 << slot)) != 0 ? sliceEdge++ : otherEdge++;
+        }
+    }
+
+    int cornerPermutation() {
+        return permutationIndex(cp, 0, CORNERS);
+    }
+
+    void setCornerPermutation(int index) {
+        setPermutation(cp, 0, CORNERS, 0, index);
+    }
+
+    int udEdgePermutation() {
+        return permutationIndex(ep, 0, FIRST_SLICE_EDGE);
+    }
+
+    void setUdEdgePermutation(int index) {
+        setPermutation(ep, 0, FIRST_SLICE_EDGE, 0, index);
+    }
+
+    int slicePermutation() {
+        return permutationIndex(ep, FIRST_SLICE_EDGE, EDGES - FIRST_SLICE_EDGE);
+    }
+
+    void setSlicePermutation(int index) {
+        setPermutation(ep, FIRST_SLICE_EDGE, EDGES - FIRST_SLICE_EDGE, FIRST_SLICE_EDGE, index);
+    }
+
+    // Slots and orientations of the six edges firstEdge..firstEdge+5, as permutation * 64 + orientation bits.
+    int edgeSubset(int firstEdge) {
+        int[] slots = scratchPermutation;
+        int orientation = 0;
+        for (int slot = 0; slot < EDGES; slot++) {
+            int tracked = ep[slot] - firstEdge;
+            if (tracked >= 0 && tracked < SUBSET_EDGES) {
+                slots[tracked] = slot;
+                orientation |= eo[slot] << tracked;
+            }
+        }
+        return edgeSubsetPermutation(slots) * EDGE_SUBSET_ORIENTATION_COUNT + orientation;
+    }
+
+    static int edgeSubsetPermutation(int[] slots) {
+        int result = 0;
+        int used = 0;
+        for (int i = 0; i < SUBSET_EDGES; i++) {
+            int free = Integer.bitCount(~used & ((1 << slots[i]) - 1));
+            result = result * (EDGES - i) + free;
+            used |= 1 << slots[i];
+        }
+        return result;
+    }
+
+    static void setEdgeSubsetSlots(int permutation, int[] slots) {
+        int[] digits = new int[SUBSET_EDGES];
+        for (int i = SUBSET_EDGES - 1; i >= 0; i--) {
+            digits[i] = permutation % (EDGES - i);
+            permutation /= EDGES - i;
+        }
+        int used = 0;
+        for (int i = 0; i < SUBSET_EDGES; i++) {
+            int slot = 0;
+            for (int free = digits[i]; free > 0 || (used & (1 << slot)) != 0; slot++) {
+                if ((used & (1 << slot)) == 0) {
+                    free--;
+                }
+            }
+            slots[i] = slot;
+            used |= 1 << slot;
+        }
+    }
+
+    static int factorial(int n) {
+        return FACTORIAL[n];
+    }
+
+    static int binomial(int n, int k) {
+        return BINOMIAL[n][k];
+    }
+
+    static int permutationIndex(int[] values, int offset, int length) {
+        int result = 0;
+        for (int i = 0; i < length; i++) {
+            int smaller = 0;
+            for (int j = i + 1; j < length; j++) {
+                if (values[offset + j] < values[offset + i]) {
+                    smaller++;
+                }
+            }
+            result += smaller * FACTORIAL[length - 1 - i];
+        }
+        return result;
+    }
+
+    static void setPermutation(int[] values, int offset, int length, int base, int index) {
+        int used = 0;
+        for (int i = 0; i < length; i++) {
+            int rank = index / FACTORIAL[length - 1 - i];
+            index %= FACTORIAL[length - 1 - i];
+            int value = 0;
+            while (true) {
+                if ((used & (1 << value)) == 0) {
+                    if (rank == 0) {
+                        break;
+                    }
+                    rank--;
+                }
+                value++;
+            }
+            used |= 1 << value;
+            values[offset + i] = base + value;
+        }
+    }
+
+    private static boolean isPermutation(int[] values, int length) {
+        int seen = 0;
+        for (int value : values) {
+            if (value < 0 || value >= length || (seen & (1 << value)) != 0) {
+                return false;
+            }
+            seen |= 1 << value;
+        }
+        return true;
+    }
+
+    private static int parity(int[] permutation, int length) {
+        int inversions = 0;
+        for (int i = 0; i < length; i++) {
+            for (int j = i + 1; j < length; j++) {
+                if (permutation[j] < permutation[i]) {
+                    inversions++;
+                }
+            }
+        }
+        return inversions & 1;
+    }
+
+    private static CubieCube[] buildFaceMoves() {
+        CubieCube[] result = new CubieCube[FACE_MOVE_COUNT];
+        for (int face = 0; face < FACES.length; face++) {
+            for (int power = 1; power <= 3; power++) {
+                CubeState state = new CubeState();
+                state.apply(MoveNotation.face(FACES[face], power));
+                result[face * 3 + power - 1] = from(state);
+            }
+        }
+        return result;
+    }
+
+    private static int[][] buildBinomials() {
+        int[][] result = new int[EDGES + 1][EDGES + 1];
+        for (int n = 0; n <= EDGES; n++) {
+            result[n][0] = 1;
+            for (int k = 1; k <= n; k++) {
+                result[n][k] = result[n - 1][k - 1] + result[n - 1][k];
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,223 @@
+package nl.tvn.cube.solver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import nl.tvn.cube.model.CubeState;
+import nl.tvn.cube.model.Move;
+
+// IDA* over face moves, bounded by the largest of a corner and two six-edge pattern databases.
+// Each iteration splits the top of the tree into fork-join tasks; the first solution found at the
+// current bound is optimal and cancels the remaining tasks.
+public final class OptimalSolver {
+    public static final int DEFAULT_MAX_LENGTH = 20;
+    private static final int SPLIT_DEPTH = 3;
+    private static final int MIN_SPLIT_REMAINING = 6;
+    private final int maxLength;
+    private final ForkJoinPool pool;
+
+    public OptimalSolver() {
+        this(DEFAULT_MAX_LENGTH);
+    }
+
+    public OptimalSolver(int maxLength) {
+        this(maxLength, SolverPool.shared());
+    }
+
+    public OptimalSolver(int maxLength, ForkJoinPool pool) {
+        if (maxLength < 0) {
+            throw new IllegalArgumentException("maxLength must not be negative");
+        }
+        this.maxLength = maxLength;
+        this.pool = pool;
+    }
+
+    public static void prepareTables() {
+        OptimalTables.instance();
+    }
+
+    public Solution solve(CubeState state) {
+        SolveEvent event = new SolveEvent();
+        event.begin();
+        Solution solution = null;
+        try {
+            solution = search(state);
+            return solution;
+        } finally {
+            event.finish("optimal", solution);
+        }
+    }
+
+    private Solution search(CubeState state) {
+        OptimalTables tables = OptimalTables.instance();
+        long start = System.nanoTime();
+        CenterAlignment alignment = CenterAlignment.of(state);
+        CubieCube cube = CubieCube.from(alignment.alignedState());
+        if (!cube.isSolvable()) {
+            throw new IllegalArgumentException("Cube state is not solvable");
+        }
+        SharedSearch shared = new SharedSearch(tables);
+        int[] faceMoves = shared.run(cube);
+        List<Move> moves = new ArrayList<>(faceMoves.length);
+        for (int faceMove : faceMoves) {
+            moves.add(alignment.toMove(faceMove));
+        }
+        return new Solution(moves, shared.nodes.sum(), System.nanoTime() - start);
+    }
+
+    private final class SharedSearch {
+        private final OptimalTables tables;
+        private final AtomicReference<int[]> solution = new AtomicReference<>();
+        private final LongAdder nodes = new LongAdder();
+
+        private SharedSearch(OptimalTables tables) {
+            this.tables = tables;
+        }
+
+        private int[] run(CubieCube cube) {
+            int cornerPermutation = cube.cornerPermutation();
+            int twist = cube.twist();
+            int firstEdges = cube.edgeSubset(OptimalTables.FIRST_EDGE_SUBSET);
+            int secondEdges = cube.edgeSubset(OptimalTables.SECOND_EDGE_SUBSET);
+            int distance = tables.distance(cornerPermutation, twist, firstEdges, secondEdges);
+            for (int depth = distance; depth <= maxLength; depth++) {
+                pool.invoke(new SubtreeTask(this, cornerPermutation, twist, firstEdges, secondEdges, new int[0], depth, -1));
+                int[] found = solution.get();
+                if (found != null) {
+                    return found;
+                }
+            }
+            throw new IllegalStateException("No solution within " + maxLength + " moves");
+        }
+    }
+
+    // Never serialized; RecursiveAction is Serializable only through ForkJoinTask.
+    @SuppressWarnings("serial")
+    private final class SubtreeTask extends RecursiveAction {
+        private final SharedSearch shared;
+        private final int cornerPermutation;
+        private final int twist;
+        private final int firstEdges;
+        private final int secondEdges;
+        private final int[] prefix;
+        private final int remaining;
+        private final int lastFace;
+
+        private SubtreeTask(
+            SharedSearch shared,
+            int cornerPermutation,
+            int twist,
+            int firstEdges,
+            int secondEdges,
+            int[] prefix,
+            int remaining,
+            int lastFace
+        ) {
+            this.shared = shared;
+            this.cornerPermutation = cornerPermutation;
+            this.twist = twist;
+            this.firstEdges = firstEdges;
+            this.secondEdges = secondEdges;
+            this.prefix = prefix;
+            this.remaining = remaining;
+            this.lastFace = lastFace;
+        }
+
+        @Override
+        protected void compute() {
+            if (shared.solution.get() != null) {
+                return;
+            }
+            if (prefix.length >= SPLIT_DEPTH || remaining < MIN_SPLIT_REMAINING) {
+                Search search = new Search(shared, prefix);
+                if (search.search(cornerPermutation, twist, firstEdges, secondEdges, prefix.length, remaining, lastFace)) {
+                    shared.solution.compareAndSet(null, Arrays.copyOf(search.moves, prefix.length + remaining));
+                }
+                shared.nodes.add(search.nodes);
+                return;
+            }
+            OptimalTables tables = shared.tables;
+            TwoPhaseTables coordinates = tables.coordinates;
+            List<SubtreeTask> children = new ArrayList<>();
+            for (int face = 0; face < CubieCube.FACES.length; face++) {
+                if (face == lastFace || face == lastFace - 3) {
+                    continue;
+                }
+                for (int power = 0; power < 3; power++) {
+                    int move = face * 3 + power;
+                    int nextCorners = coordinates.cornerPermutationMove.get(cornerPermutation * TwoPhaseTables.MOVES + move);
+                    int nextTwist = coordinates.twistMove.get(twist * TwoPhaseTables.MOVES + move);
+                    int nextFirst = tables.edgeSubsetMove(firstEdges, move);
+                    int nextSecond = tables.edgeSubsetMove(secondEdges, move);
+                    if (tables.distance(nextCorners, nextTwist, nextFirst, nextSecond) >= remaining) {
+                        continue;
+                    }
+                    int[] childPrefix = Arrays.copyOf(prefix, prefix.length + 1);
+                    childPrefix[prefix.length] = move;
+                    children.add(new SubtreeTask(
+                        shared, nextCorners, nextTwist, nextFirst, nextSecond, childPrefix, remaining - 1, face));
+                }
+            }
+            shared.nodes.add(children.size());
+            invokeAll(children);
+        }
+    }
+
+    private final class Search {
+        private final SharedSearch shared;
+        private final OptimalTables tables;
+        private final int[] moves;
+        private long nodes;
+
+        private Search(SharedSearch shared, int[] prefix) {
+            this.shared = shared;
+            this.tables = shared.tables;
+            this.moves = Arrays.copyOf(prefix, maxLength);
+        }
+
+        private boolean search(
+            int cornerPermutation,
+            int twist,
+            int firstEdges,
+            int secondEdges,
+            int depth,
+            int remaining,
+            int lastFace
+        ) {
+            if (remaining == 0) {
+                return cornerPermutation == 0 && twist == 0
+                    && tables.firstEdgePruning.get(firstEdges) == 0
+                    && tables.secondEdgePruning.get(secondEdges) == 0;
+            }
+            if (shared.solution.get() != null) {
+                return false;
+            }
+            TwoPhaseTables coordinates = tables.coordinates;
+            for (int face = 0; face < CubieCube.FACES.length; face++) {
+                if (face == lastFace || face == lastFace - 3) {
+                    continue;
+                }
+                for (int power = 0; power < 3; power++) {
+                    int move = face * 3 + power;
+                    nodes++;
+                    int nextCorners = coordinates.cornerPermutationMove.get(cornerPermutation * TwoPhaseTables.MOVES + move);
+                    int nextTwist = coordinates.twistMove.get(twist * TwoPhaseTables.MOVES + move);
+                    int nextFirst = tables.edgeSubsetMove(firstEdges, move);
+                    int nextSecond = tables.edgeSubsetMove(secondEdges, move);
+                    if (tables.distance(nextCorners, nextTwist, nextFirst, nextSecond) >= remaining) {
+                        continue;
+                    }
+                    moves[depth] = move;
+                    if (search(nextCorners, nextTwist, nextFirst, nextSecond, depth + 1, remaining - 1, face)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+}
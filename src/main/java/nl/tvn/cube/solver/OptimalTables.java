@@ -0,0 +1,86 @@
+package nl.tvn.cube.solver;
+
+import java.nio.IntBuffer;
+
+final class OptimalTables {
+    static final int VERSION = 1;
+    static final long CORNER_COUNT = (long) TwoPhaseTables.CORNER_PERMUTATION_COUNT * TwoPhaseTables.TWIST_COUNT;
+    static final long EDGE_SUBSET_COUNT =
+        (long) CubieCube.EDGE_SUBSET_PERMUTATION_COUNT * CubieCube.EDGE_SUBSET_ORIENTATION_COUNT;
+    static final int FIRST_EDGE_SUBSET = 0;
+    static final int SECOND_EDGE_SUBSET = CubieCube.SUBSET_EDGES;
+    private static final int ORIENTATION_MASK = CubieCube.EDGE_SUBSET_ORIENTATION_COUNT - 1;
+
+    final TwoPhaseTables coordinates;
+    final IntBuffer edgeSubsetMove;
+    final PruningTable cornerPruning;
+    final PruningTable firstEdgePruning;
+    final PruningTable secondEdgePruning;
+
+    OptimalTables(TableStore store, TwoPhaseTables coordinates) {
+        this.coordinates = coordinates;
+        edgeSubsetMove = store.table("optimal-edge-subset-move", VERSION,
+                CubieCube.EDGE_SUBSET_PERMUTATION_COUNT * TwoPhaseTables.MOVES * Integer.BYTES,
+                buffer -> fillEdgeSubsetMoves(buffer.asIntBuffer()))
+            .asIntBuffer();
+        cornerPruning = PruningTable.load(store, "optimal-corner-pruning", VERSION,
+            TwoPhaseTables.CORNER_PERMUTATION_COUNT, coordinates.cornerPermutationMove,
+            TwoPhaseTables.TWIST_COUNT, coordinates.twistMove, TwoPhaseTables.PHASE1_MOVES);
+        firstEdgePruning = PruningTable.load(store, "optimal-first-edge-pruning", VERSION, EDGE_SUBSET_COUNT,
+            new CubieCube().edgeSubset(FIRST_EDGE_SUBSET), this::nextEdgeSubset, TwoPhaseTables.PHASE1_MOVES);
+        secondEdgePruning = PruningTable.load(store, "optimal-second-edge-pruning", VERSION, EDGE_SUBSET_COUNT,
+            new CubieCube().edgeSubset(SECOND_EDGE_SUBSET), this::nextEdgeSubset, TwoPhaseTables.PHASE1_MOVES);
+    }
+
+    static OptimalTables instance() {
+        return Holder.INSTANCE;
+    }
+
+    int edgeSubsetMove(int edgeSubset, int move) {
+        int entry = edgeSubsetMove.get((edgeSubset >>> 6) * TwoPhaseTables.MOVES + move);
+        return (entry & ~ORIENTATION_MASK) | ((edgeSubset ^ entry) & ORIENTATION_MASK);
+    }
+
+    private long nextEdgeSubset(long edgeSubset, int move) {
+        return edgeSubsetMove((int) edgeSubset, move);
+    }
+
+    int distance(int cornerPermutation, int twist, int firstEdges, int secondEdges) {
+        int corners = cornerPruning.get((long) cornerPermutation * TwoPhaseTables.TWIST_COUNT + twist);
+        int first = firstEdgePruning.get(firstEdges);
+        int second = secondEdgePruning.get(secondEdges);
+        return Math.max(corners, Math.max(first, second));
+    }
+
+    // Entries hold the moved permutation already scaled by 64 plus the orientation bits the move flips.
+    private static void fillEdgeSubsetMoves(IntBuffer table) {
+        int[][] targets = new int[TwoPhaseTables.MOVES][CubieCube.EDGES];
+        int[][] flips = new int[TwoPhaseTables.MOVES][CubieCube.EDGES];
+        for (int move = 0; move < TwoPhaseTables.MOVES; move++) {
+            CubieCube faceMove = CubieCube.FACE_MOVES[move];
+            for (int slot = 0; slot < CubieCube.EDGES; slot++) {
+                targets[move][faceMove.ep[slot]] = slot;
+                flips[move][faceMove.ep[slot]] = faceMove.eo[slot];
+            }
+        }
+        int[] slots = new int[CubieCube.SUBSET_EDGES];
+        int[] moved = new int[CubieCube.SUBSET_EDGES];
+        for (int permutation = 0; permutation < CubieCube.EDGE_SUBSET_PERMUTATION_COUNT; permutation++) {
+            CubieCube.setEdgeSubsetSlots(permutation, slots);
+            for (int move = 0; move < TwoPhaseTables.MOVES; move++) {
+                int flipped = 0;
+                for (int i = 0; i < slots.length; i++) {
+                    moved[i] = targets[move][slots[i]];
+                    flipped |= flips[move][slots[i]] << i;
+                }
+                int next = CubieCube.edgeSubsetPermutation(moved) * CubieCube.EDGE_SUBSET_ORIENTATION_COUNT;
+                table.put(permutation * TwoPhaseTables.MOVES + move, next | flipped);
+            }
+        }
+    }
+
+    private static final class Holder {
+        private static final OptimalTables INSTANCE =
+            new OptimalTables(TableStore.defaultStore(), TwoPhaseTables.instance());
+    }
+}
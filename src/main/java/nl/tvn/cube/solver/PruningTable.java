@@ -0,0 +1,120 @@
+package nl.tvn.cube.solver;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+
+final class PruningTable {
+    static final int UNKNOWN = 0x0F;
+    private final ByteBuffer nibbles;
+
+    PruningTable(ByteBuffer nibbles) {
+        this.nibbles = nibbles;
+    }
+
+    static int byteSize(long entries) {
+        return Math.toIntExact((entries + 1) / 2);
+    }
+
+    int get(long index) {
+        int packed = nibbles.get((int) (index >>> 1));
+        return (index & 1) == 0 ? packed & 0x0F : (packed >>> 4) & 0x0F;
+    }
+
+    void set(long index, int depth) {
+        int position = (int) (index >>> 1);
+        int packed = nibbles.get(position);
+        if ((index & 1) == 0) {
+            nibbles.put(position, (byte) ((packed & 0xF0) | depth));
+        } else {
+            nibbles.put(position, (byte) ((packed & 0x0F) | (depth << 4)));
+        }
+    }
+
+    static PruningTable load(
+        TableStore store,
+        String name,
+        int version,
+        int firstSize,
+        CharBuffer firstMoves,
+        int secondSize,
+        CharBuffer secondMoves,
+        int[] moves
+    ) {
+        Successor successor = (index, move) -> {
+            int first = (int) (index / secondSize);
+            int second = (int) (index - (long) first * secondSize);
+            return (long) firstMoves.get(first * CubieCube.FACE_MOVE_COUNT + move) * secondSize
+                + secondMoves.get(second * CubieCube.FACE_MOVE_COUNT + move);
+        };
+        return load(store, name, version, (long) firstSize * secondSize, 0, successor, moves);
+    }
+
+    static PruningTable load(
+        TableStore store,
+        String name,
+        int version,
+        long entries,
+        long goal,
+        Successor successor,
+        int[] moves
+    ) {
+        ByteBuffer nibbles = store.table(name, version, byteSize(entries),
+            buffer -> fill(new PruningTable(buffer), entries, goal, successor, moves));
+        return new PruningTable(nibbles);
+    }
+
+    // Breadth-first fill, one depth layer per scan. Once most entries are known it is cheaper to scan the
+    // unknown entries for a neighbour at the current depth than to expand the whole frontier; both
+    // directions are valid because every move set used here contains the inverse of each of its moves.
+    private static void fill(PruningTable table, long entries, long goal, Successor successor, int[] moves) {
+        for (int i = 0; i < byteSize(entries); i++) {
+            table.nibbles.put(i, (byte) 0xFF);
+        }
+        table.set(goal, 0);
+        long filled = 1;
+        int depth = 0;
+        while (filled < entries) {
+            if (depth + 1 >= UNKNOWN) {
+                throw new IllegalStateException("Pruning depth exceeds nibble range");
+            }
+            boolean backward = filled > entries / 2;
+            long added = 0;
+            for (long index = 0; index < entries; index++) {
+                int value = table.get(index);
+                if (backward) {
+                    if (value != UNKNOWN) {
+                        continue;
+                    }
+                    for (int move : moves) {
+                        if (table.get(successor.next(index, move)) == depth) {
+                            table.set(index, depth + 1);
+                            added++;
+                            break;
+                        }
+                    }
+                    continue;
+                }
+                if (value != depth) {
+                    continue;
+                }
+                for (int move : moves) {
+                    long next = successor.next(index, move);
+                    if (table.get(next) == UNKNOWN) {
+                        table.set(next, depth + 1);
+                        added++;
+                    }
+                }
+            }
+            if (added == 0) {
+                break;
+            }
+            filled += added;
+            depth++;
+        }
+    }
+
+    @FunctionalInterface
+    interface Successor {
+        long next(long index, int move);
+    }
+}
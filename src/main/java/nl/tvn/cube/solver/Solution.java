@@ -0,0 +1,14 @@
+package nl.tvn.cube.solver;
+
+import java.util.List;
+import nl.tvn.cube.model.Move;
+
+public record Solution(List<Move> moves, long nodes, long elapsedNanos) {
+    public Solution {
+        moves = List.copyOf(moves);
+    }
+
+    public int length() {
+        return moves.size();
+    }
+}
@@ -0,0 +1,30 @@
+package nl.tvn.cube.solver;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// One solver invocation; a failed search (unsolvable state or no solution in time) has length -1.
+@Name("nl.tvn.cube.Solve")
+@Label("Solve")
+@Category({ "Cube", "Solver" })
+@StackTrace(false)
+final class SolveEvent extends Event {
+    @Label("Solver")
+    String solver;
+    @Label("Solution Length")
+    int length;
+    @Label("Nodes")
+    long nodes;
+
+    void finish(String solver, Solution solution) {
+        if (shouldCommit()) {
+            this.solver = solver;
+            this.length = solution == null ? -1 : solution.length();
+            this.nodes = solution == null ? 0 : solution.nodes();
+            commit();
+        }
+    }
+}
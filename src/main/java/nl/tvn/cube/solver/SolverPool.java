@@ -0,0 +1,44 @@
+package nl.tvn.cube.solver;
+
+import java.util.concurrent.ForkJoinPool;
+
+public final class SolverPool {
+    public static final String PARALLELISM_PROPERTY = "cube.solver.parallelism";
+    private static final int RESERVED_CORES = 2;
+
+    private SolverPool() {
+    }
+
+    public static ForkJoinPool shared() {
+        return Holder.INSTANCE;
+    }
+
+    public static ForkJoinPool create(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+        return new ForkJoinPool(parallelism);
+    }
+
+    // Leaves a couple of cores to the FX application and render threads unless configured otherwise. A
+    // value that is not a number falls back to that default: this runs in the shared pool's initializer,
+    // where an exception would leave every later solve failing with NoClassDefFoundError.
+    public static int defaultParallelism() {
+        int fallback = Math.max(1, Runtime.getRuntime().availableProcessors() - RESERVED_CORES);
+        String configured = System.getProperty(PARALLELISM_PROPERTY);
+        if (configured == null || configured.isBlank()) {
+            return fallback;
+        }
+        try {
+            return Math.max(1, Integer.parseInt(configured.trim()));
+        } catch (NumberFormatException e) {
+            System.err.println("Ignoring -D" + PARALLELISM_PROPERTY + "=" + configured
+                + ": not a number; using " + fallback + " solver threads");
+            return fallback;
+        }
+    }
+
+    private static final class Holder {
+        private static final ForkJoinPool INSTANCE = create(defaultParallelism());
+    }
+}
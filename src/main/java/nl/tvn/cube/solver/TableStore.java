@@ -0,0 +1,170 @@
+package nl.tvn.cube.solver;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+// Generated tables are cached as "<name>.v<version>.tbl": a fixed header (magic, format version, table
+// version, payload size, CRC32 of the payload) followed by the little-endian payload, which is mapped
+// read-only on later runs instead of being regenerated or copied onto the heap. Freshly generated tables
+// live in direct buffers, so large pattern databases stay off-heap either way.
+// The header is checked on every load, but the CRC only when a file is written or first adopted: reading
+// the whole payload would page in all of it at startup. A "<file>.verified" marker records the modification
+// time and checksum of the file that passed, and a file modified since is verified again.
+public final class TableStore {
+    public static final String DIRECTORY_PROPERTY = "cube.tables.dir";
+    static final int MAGIC = 0x43554254;
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    private final Path directory;
+
+    private TableStore(Path directory) {
+        this.directory = directory;
+    }
+
+    public static TableStore defaultStore() {
+        String configured = System.getProperty(DIRECTORY_PROPERTY);
+        if (configured != null && !configured.isBlank()) {
+            return at(Path.of(configured));
+        }
+        return at(Path.of(System.getProperty("user.home"), ".cube", "tables"));
+    }
+
+    public static TableStore at(Path directory) {
+        return new TableStore(directory);
+    }
+
+    public static TableStore inMemory() {
+        return new TableStore(null);
+    }
+
+    public Optional<Path> directory() {
+        return Optional.ofNullable(directory);
+    }
+
+    ByteBuffer table(String name, int version, int size, Consumer<ByteBuffer> generator) {
+        if (directory == null) {
+            return generate(size, generator);
+        }
+        Path file = directory.resolve(name + ".v" + version + ".tbl");
+        Optional<ByteBuffer> stored = map(file, version, size);
+        if (stored.isPresent()) {
+            return stored.get();
+        }
+        ByteBuffer generated = generate(size, generator);
+        write(file, version, generated);
+        return generated;
+    }
+
+    private static ByteBuffer generate(int size, Consumer<ByteBuffer> generator) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(size).order(ByteOrder.LITTLE_ENDIAN);
+        generator.accept(buffer);
+        return buffer.clear().asReadOnlyBuffer().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static Optional<ByteBuffer> map(Path file, int version, int size) {
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() != (long) HEADER_SIZE + size) {
+                return Optional.empty();
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            mapped.order(ByteOrder.LITTLE_ENDIAN);
+            if (mapped.getInt(0) != MAGIC
+                || mapped.getInt(4) != FORMAT_VERSION
+                || mapped.getInt(8) != version
+                || mapped.getLong(16) != size) {
+                return Optional.empty();
+            }
+            ByteBuffer payload = mapped.position(HEADER_SIZE).slice().order(ByteOrder.LITTLE_ENDIAN);
+            long crc = mapped.getLong(24);
+            if (!isVerified(file, crc)) {
+                if (crc != checksum(payload)) {
+                    return Optional.empty();
+                }
+                markVerified(file, crc);
+            }
+            return Optional.of(payload);
+        } catch (IOException | RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+
+    // The table is written to a temporary file and moved into place so readers never map a partial file.
+    // A store that cannot be written keeps working from the generated in-memory copy.
+    private static void write(Path file, int version, ByteBuffer payload) {
+        long crc = checksum(payload);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC)
+            .putInt(FORMAT_VERSION)
+            .putInt(version)
+            .putInt(0)
+            .putLong(payload.capacity())
+            .putLong(crc)
+            .flip();
+        Path temporary = null;
+        try {
+            Files.createDirectories(file.getParent());
+            temporary = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                ByteBuffer body = payload.duplicate().clear();
+                while (header.hasRemaining() || body.hasRemaining()) {
+                    channel.write(new ByteBuffer[] { header, body });
+                }
+                channel.force(true);
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            markVerified(file, crc);
+        } catch (IOException e) {
+            if (temporary != null) {
+                try {
+                    Files.deleteIfExists(temporary);
+                } catch (IOException ignored) {
+                    // Leaving a stray temporary file behind does not affect later loads.
+                }
+            }
+        }
+    }
+
+    private static boolean isVerified(Path file, long crc) {
+        Path marker = markerFor(file);
+        try {
+            return Files.isRegularFile(marker) && Files.readString(marker).equals(stamp(file, crc));
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static void markVerified(Path file, long crc) {
+        try {
+            Files.writeString(markerFor(file), stamp(file, crc));
+        } catch (IOException ignored) {
+            // Without a marker the file is just verified again on the next load.
+        }
+    }
+
+    private static String stamp(Path file, long crc) throws IOException {
+        return Files.getLastModifiedTime(file).toInstant() + " " + Long.toHexString(crc);
+    }
+
+    static Path markerFor(Path file) {
+        return file.resolveSibling(file.getFileName() + ".verified");
+    }
+
+    private static long checksum(ByteBuffer payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload.duplicate().clear());
+        return crc.getValue();
+    }
+}
@@ -0,0 +1,296 @@
+package nl.tvn.cube.solver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import nl.tvn.cube.model.CubeState;
+import nl.tvn.cube.model.Move;
+
+public final class TwoPhaseSolver {
+    public static final int DEFAULT_MAX_LENGTH = 22;
+    public static final int DEFAULT_TARGET_LENGTH = 20;
+    public static final long DEFAULT_TIMEOUT_MILLIS = 50;
+    private static final int SPLIT_DEPTH = 2;
+    private static final int MIN_SPLIT_REMAINING = 4;
+    private final int maxLength;
+    private final int targetLength;
+    private final long timeoutNanos;
+    private final ForkJoinPool pool;
+
+    public TwoPhaseSolver() {
+        this(DEFAULT_MAX_LENGTH, DEFAULT_TARGET_LENGTH, DEFAULT_TIMEOUT_MILLIS);
+    }
+
+    public TwoPhaseSolver(int maxLength, int targetLength, long timeoutMillis) {
+        this(maxLength, targetLength, timeoutMillis, SolverPool.shared());
+    }
+
+    public TwoPhaseSolver(int maxLength, int targetLength, long timeoutMillis, ForkJoinPool pool) {
+        if (maxLength < 1 || targetLength > maxLength) {
+            throw new IllegalArgumentException("targetLength must not exceed a positive maxLength");
+        }
+        this.maxLength = maxLength;
+        this.targetLength = targetLength;
+        this.timeoutNanos = timeoutMillis * 1_000_000L;
+        this.pool = pool;
+    }
+
+    public static void prepareTables() {
+        TwoPhaseTables.instance();
+    }
+
+    public Solution solve(CubeState state) {
+        SolveEvent event = new SolveEvent();
+        event.begin();
+        Solution solution = null;
+        try {
+            solution = search(state);
+            return solution;
+        } finally {
+            event.finish("two-phase", solution);
+        }
+    }
+
+    private Solution search(CubeState state) {
+        TwoPhaseTables tables = TwoPhaseTables.instance();
+        long start = System.nanoTime();
+        CenterAlignment alignment = CenterAlignment.of(state);
+        CubieCube cube = CubieCube.from(alignment.alignedState());
+        if (!cube.isSolvable()) {
+            throw new IllegalArgumentException("Cube state is not solvable");
+        }
+        SharedSearch shared = new SharedSearch(tables, cube, start + timeoutNanos);
+        int[] faceMoves = shared.run();
+        List<Move> moves = new ArrayList<>(faceMoves.length);
+        for (int faceMove : faceMoves) {
+            moves.add(alignment.toMove(faceMove));
+        }
+        return new Solution(moves, shared.nodes.sum(), System.nanoTime() - start);
+    }
+
+    // State shared by all tasks of one solve: the best solution so far bounds every phase 2 search,
+    // and finishing (target length reached or time budget spent) cancels the remaining tasks.
+    private final class SharedSearch {
+        private final TwoPhaseTables tables;
+        private final CubieCube cube;
+        private final long deadline;
+        private final AtomicBoolean finished = new AtomicBoolean();
+        private final LongAdder nodes = new LongAdder();
+        private volatile int bestLength;
+        private int[] best;
+
+        private SharedSearch(TwoPhaseTables tables, CubieCube cube, long deadline) {
+            this.tables = tables;
+            this.cube = cube;
+            this.deadline = deadline;
+            this.bestLength = maxLength + 1;
+        }
+
+        private int[] run() {
+            if (cube.isSolved()) {
+                return new int[0];
+            }
+            int twist = cube.twist();
+            int flip = cube.flip();
+            int slice = cube.slice();
+            for (int depth = tables.phase1Distance(twist, flip, slice); depth < bestLength; depth++) {
+                pool.invoke(new Phase1Task(this, twist, flip, slice, new int[0], depth, -1));
+                if (finished.get()) {
+                    break;
+                }
+            }
+            synchronized (this) {
+                if (best == null) {
+                    throw new IllegalStateException("No solution within " + maxLength + " moves");
+                }
+                return best;
+            }
+        }
+
+        private synchronized void offer(int[] moves, int length) {
+            if (length < bestLength) {
+                best = Arrays.copyOf(moves, length);
+                bestLength = length;
+            }
+            if (bestLength <= targetLength) {
+                finished.set(true);
+            }
+        }
+
+        private boolean isFinished() {
+            if (finished.get()) {
+                return true;
+            }
+            if (bestLength <= maxLength && System.nanoTime() > deadline) {
+                finished.set(true);
+                return true;
+            }
+            return false;
+        }
+    }
+
+    // Never serialized; RecursiveAction is Serializable only through ForkJoinTask.
+    @SuppressWarnings("serial")
+    private final class Phase1Task extends RecursiveAction {
+        private final SharedSearch shared;
+        private final int twist;
+        private final int flip;
+        private final int slice;
+        private final int[] prefix;
+        private final int remaining;
+        private final int lastFace;
+
+        private Phase1Task(SharedSearch shared, int twist, int flip, int slice, int[] prefix, int remaining, int lastFace) {
+            this.shared = shared;
+            this.twist = twist;
+            this.flip = flip;
+            this.slice = slice;
+            this.prefix = prefix;
+            this.remaining = remaining;
+            this.lastFace = lastFace;
+        }
+
+        @Override
+        protected void compute() {
+            if (shared.isFinished()) {
+                return;
+            }
+            if (prefix.length >= SPLIT_DEPTH || remaining < MIN_SPLIT_REMAINING) {
+                Search search = new Search(shared, prefix);
+                search.phase1(twist, flip, slice, prefix.length, remaining, lastFace);
+                shared.nodes.add(search.nodes);
+                return;
+            }
+            TwoPhaseTables tables = shared.tables;
+            List<Phase1Task> children = new ArrayList<>();
+            for (int face = 0; face < CubieCube.FACES.length; face++) {
+                if (face == lastFace || face == lastFace - 3) {
+                    continue;
+                }
+                for (int power = 0; power < 3; power++) {
+                    int move = face * 3 + power;
+                    int nextTwist = tables.twistMove.get(twist * TwoPhaseTables.MOVES + move);
+                    int nextFlip = tables.flipMove.get(flip * TwoPhaseTables.MOVES + move);
+                    int nextSlice = tables.sliceMove.get(slice * TwoPhaseTables.MOVES + move);
+                    if (tables.phase1Distance(nextTwist, nextFlip, nextSlice) >= remaining) {
+                        continue;
+                    }
+                    int[] childPrefix = Arrays.copyOf(prefix, prefix.length + 1);
+                    childPrefix[prefix.length] = move;
+                    children.add(new Phase1Task(shared, nextTwist, nextFlip, nextSlice, childPrefix, remaining - 1, face));
+                }
+            }
+            shared.nodes.add(children.size());
+            invokeAll(children);
+        }
+    }
+
+    private final class Search {
+        private final SharedSearch shared;
+        private final TwoPhaseTables tables;
+        private final CubieCube phase2Start;
+        private final int[] moves;
+        private long nodes;
+
+        private Search(SharedSearch shared, int[] prefix) {
+            this.shared = shared;
+            this.tables = shared.tables;
+            this.phase2Start = new CubieCube();
+            this.moves = Arrays.copyOf(prefix, maxLength + 1);
+        }
+
+        private boolean phase1(int twist, int flip, int slice, int depth, int remaining, int lastFace) {
+            if (remaining == 0) {
+                if (depth > 0 && !endsPhase1(moves[depth - 1])) {
+                    return false;
+                }
+                return startPhase2(depth);
+            }
+            for (int face = 0; face < CubieCube.FACES.length; face++) {
+                if (face == lastFace || face == lastFace - 3) {
+                    continue;
+                }
+                for (int power = 0; power < 3; power++) {
+                    int move = face * 3 + power;
+                    nodes++;
+                    int nextTwist = tables.twistMove.get(twist * TwoPhaseTables.MOVES + move);
+                    int nextFlip = tables.flipMove.get(flip * TwoPhaseTables.MOVES + move);
+                    int nextSlice = tables.sliceMove.get(slice * TwoPhaseTables.MOVES + move);
+                    if (tables.phase1Distance(nextTwist, nextFlip, nextSlice) >= remaining) {
+                        continue;
+                    }
+                    moves[depth] = move;
+                    if (phase1(nextTwist, nextFlip, nextSlice, depth + 1, remaining - 1, face)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        // A phase 1 solution ending in a phase 2 move was already found at a shorter depth.
+        private boolean endsPhase1(int move) {
+            int face = move / 3;
+            int power = move % 3;
+            return power != 1 && face != 0 && face != 3;
+        }
+
+        private boolean startPhase2(int phase1Length) {
+            if (shared.isFinished()) {
+                return true;
+            }
+            phase2Start.set(shared.cube);
+            for (int i = 0; i < phase1Length; i++) {
+                phase2Start.multiply(CubieCube.FACE_MOVES[moves[i]]);
+            }
+            int cornerPermutation = phase2Start.cornerPermutation();
+            int udEdgePermutation = phase2Start.udEdgePermutation();
+            int slicePermutation = phase2Start.slicePermutation();
+            int lastFace = phase1Length > 0 ? moves[phase1Length - 1] / 3 : -1;
+            int maxPhase2 = shared.bestLength - 1 - phase1Length;
+            int distance = tables.phase2Distance(cornerPermutation, udEdgePermutation, slicePermutation);
+            for (int depth = distance; depth <= maxPhase2; depth++) {
+                if (phase2(cornerPermutation, udEdgePermutation, slicePermutation, phase1Length, depth, lastFace)) {
+                    shared.offer(moves, phase1Length + depth);
+                    break;
+                }
+            }
+            return shared.isFinished();
+        }
+
+        private boolean phase2(
+            int cornerPermutation,
+            int udEdgePermutation,
+            int slicePermutation,
+            int depth,
+            int remaining,
+            int lastFace
+        ) {
+            if (remaining == 0) {
+                return cornerPermutation == 0 && udEdgePermutation == 0 && slicePermutation == 0;
+            }
+            for (int move : TwoPhaseTables.PHASE2_MOVES) {
+                int face = move / 3;
+                if (face == lastFace || face == lastFace - 3) {
+                    continue;
+                }
+                nodes++;
+                int nextCorners = tables.cornerPermutationMove.get(cornerPermutation * TwoPhaseTables.MOVES + move);
+                int nextEdges = tables.udEdgePermutationMove.get(udEdgePermutation * TwoPhaseTables.MOVES + move);
+                int nextSlice = tables.slicePermutationMove.get(slicePermutation * TwoPhaseTables.MOVES + move);
+                if (tables.phase2Distance(nextCorners, nextEdges, nextSlice) >= remaining) {
+                    continue;
+                }
+                moves[depth] = move;
+                if (phase2(nextCorners, nextEdges, nextSlice, depth + 1, remaining - 1, face)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package nl.tvn.cube.solver;
+
+import java.nio.CharBuffer;
+import java.util.function.Consumer;
+
+final class TwoPhaseTables {
+    static final int TWIST_COUNT = 2187;
+    static final int FLIP_COUNT = 2048;
+    static final int SLICE_COUNT = 495;
+    static final int CORNER_PERMUTATION_COUNT = 40320;
+    static final int UD_EDGE_PERMUTATION_COUNT = 40320;
+    static final int SLICE_PERMUTATION_COUNT = 24;
+    static final int MOVES = CubieCube.FACE_MOVE_COUNT;
+    static final int[] PHASE1_MOVES = { 0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17 };
+    static final int[] PHASE2_MOVES = { 0, 1, 2, 4, 7, 9, 10, 11, 13, 16 };
+    static final int VERSION = 1;
+
+    final CharBuffer twistMove;
+    final CharBuffer flipMove;
+    final CharBuffer sliceMove;
+    final CharBuffer cornerPermutationMove;
+    final CharBuffer udEdgePermutationMove;
+    final CharBuffer slicePermutationMove;
+    final PruningTable sliceTwistPruning;
+    final PruningTable sliceFlipPruning;
+    final PruningTable sliceCornerPruning;
+    final PruningTable sliceEdgePruning;
+
+    TwoPhaseTables(TableStore store) {
+        twistMove = moveTable(store, "two-phase-twist-move", TWIST_COUNT, TwoPhaseTables::fillTwistMoves);
+        flipMove = moveTable(store, "two-phase-flip-move", FLIP_COUNT, TwoPhaseTables::fillFlipMoves);
+        sliceMove = moveTable(store, "two-phase-slice-move", SLICE_COUNT, TwoPhaseTables::fillSliceMoves);
+        cornerPermutationMove = moveTable(store, "two-phase-corner-permutation-move",
+            CORNER_PERMUTATION_COUNT, TwoPhaseTables::fillCornerPermutationMoves);
+        udEdgePermutationMove = moveTable(store, "two-phase-ud-edge-permutation-move",
+            UD_EDGE_PERMUTATION_COUNT, TwoPhaseTables::fillUdEdgePermutationMoves);
+        slicePermutationMove = moveTable(store, "two-phase-slice-permutation-move",
+            SLICE_PERMUTATION_COUNT, TwoPhaseTables::fillSlicePermutationMoves);
+        sliceTwistPruning = PruningTable.load(store, "two-phase-slice-twist-pruning", VERSION,
+            SLICE_COUNT, sliceMove, TWIST_COUNT, twistMove, PHASE1_MOVES);
+        sliceFlipPruning = PruningTable.load(store, "two-phase-slice-flip-pruning", VERSION,
+            SLICE_COUNT, sliceMove, FLIP_COUNT, flipMove, PHASE1_MOVES);
+        sliceCornerPruning = PruningTable.load(store, "two-phase-slice-corner-pruning", VERSION,
+            SLICE_PERMUTATION_COUNT, slicePermutationMove, CORNER_PERMUTATION_COUNT, cornerPermutationMove, PHASE2_MOVES);
+        sliceEdgePruning = PruningTable.load(store, "two-phase-slice-edge-pruning", VERSION,
+            SLICE_PERMUTATION_COUNT, slicePermutationMove, UD_EDGE_PERMUTATION_COUNT, udEdgePermutationMove, PHASE2_MOVES);
+    }
+
+    static TwoPhaseTables instance() {
+        return Holder.INSTANCE;
+    }
+
+    int phase1Distance(int twist, int flip, int slice) {
+        return Math.max(
+            sliceTwistPruning.get((long) slice * TWIST_COUNT + twist),
+            sliceFlipPruning.get((long) slice * FLIP_COUNT + flip));
+    }
+
+    int phase2Distance(int cornerPermutation, int udEdgePermutation, int slicePermutation) {
+        return Math.max(
+            sliceCornerPruning.get((long) slicePermutation * CORNER_PERMUTATION_COUNT + cornerPermutation),
+            sliceEdgePruning.get((long) slicePermutation * UD_EDGE_PERMUTATION_COUNT + udEdgePermutation));
+    }
+
+    private static CharBuffer moveTable(TableStore store, String name, int size, Consumer<CharBuffer> generator) {
+        return store.table(name, VERSION, size * MOVES * Character.BYTES, buffer -> generator.accept(buffer.asCharBuffer()))
+            .asCharBuffer();
+    }
+
+    private static void fillTwistMoves(CharBuffer table) {
+        CubieCube cube = new CubieCube();
+        for (int twist = 0; twist < TWIST_COUNT; twist++) {
+            for (int move = 0; move < MOVES; move++) {
+                cube.setTwist(twist);
+                cube.multiplyCorners(CubieCube.FACE_MOVES[move]);
+                table.put(twist * MOVES + move, (char) cube.twist());
+            }
+        }
+    }
+
+    private static void fillFlipMoves(CharBuffer table) {
+        CubieCube cube = new CubieCube();
+        for (int flip = 0; flip < FLIP_COUNT; flip++) {
+            for (int move = 0; move < MOVES; move++) {
+                cube.setFlip(flip);
+                cube.multiplyEdges(CubieCube.FACE_MOVES[move]);
+                table.put(flip * MOVES + move, (char) cube.flip());
+            }
+        }
+    }
+
+    private static void fillSliceMoves(CharBuffer table) {
+        CubieCube cube = new CubieCube();
+        for (int slotMask = 0; slotMask < 1 << CubieCube.EDGES; slotMask++) {
+            if (Integer.bitCount(slotMask) != CubieCube.EDGES - CubieCube.FIRST_SLICE_EDGE) {
+                continue;
+            }
+            for (int move = 0; move < MOVES; move++) {
+                cube.setSliceMask(slotMask);
+                int slice = cube.slice();
+                cube.multiplyEdges(CubieCube.FACE_MOVES[move]);
+                table.put(slice * MOVES + move, (char) cube.slice());
+            }
+        }
+    }
+
+    private static void fillCornerPermutationMoves(CharBuffer table) {
+        CubieCube cube = new CubieCube();
+        for (int permutation = 0; permutation < CORNER_PERMUTATION_COUNT; permutation++) {
+            for (int move = 0; move < MOVES; move++) {
+                cube.setCornerPermutation(permutation);
+                cube.multiplyCorners(CubieCube.FACE_MOVES[move]);
+                table.put(permutation * MOVES + move, (char) cube.cornerPermutation());
+            }
+        }
+    }
+
+    // Only phase 2 moves keep the U/D edges inside the U and D layers; other entries stay unused.
+    private static void fillUdEdgePermutationMoves(CharBuffer table) {
+        CubieCube cube = new CubieCube();
+        for (int permutation = 0; permutation < UD_EDGE_PERMUTATION_COUNT; permutation++) {
+            for (int move : PHASE2_MOVES) {
+                cube.setUdEdgePermutation(permutation);
+                cube.setSlicePermutation(0);
+                cube.multiplyEdges(CubieCube.FACE_MOVES[move]);
+                table.put(permutation * MOVES + move, (char) cube.udEdgePermutation());
+            }
+        }
+    }
+
+    private static void fillSlicePermutationMoves(CharBuffer table) {
+        CubieCube cube = new CubieCube();
+        for (int permutation = 0; permutation < SLICE_PERMUTATION_COUNT; permutation++) {
+            for (int move : PHASE2_MOVES) {
+                cube.setUdEdgePermutation(0);
+                cube.setSlicePermutation(permutation);
+                cube.multiplyEdges(CubieCube.FACE_MOVES[move]);
+                table.put(permutation * MOVES + move, (char) cube.slicePermutation());
+            }
+        }
+    }
+
+    private static final class Holder {
+        private static final TwoPhaseTables INSTANCE = new TwoPhaseTables(TableStore.defaultStore());
+    }
+}
@@ -0,0 +1,107 @@
+package nl.tvn.cube.view;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.PhongMaterial;
+import javafx.scene.shape.MeshView;
+import javafx.scene.shape.TriangleMesh;
+
+// One MeshView per cubie: the black body and its stickers are quads in a single TriangleMesh whose texture
+// coordinates point into a shared atlas of flat colour cells, so every cubie of every cube uses the same
+// material. Meshes depend only on which faces carry stickers and are shared between cubies as well.
+final class CubieMeshes {
+    static final Color[] FACE_COLORS = {
+        Color.RED, Color.ORANGE, Color.YELLOW, Color.WHITE, Color.BLUE, Color.GREEN
+    };
+    private static final int BODY_CELL = FACE_COLORS.length;
+    private static final int CELL_COUNT = FACE_COLORS.length + 1;
+    private static final int CELL_PIXELS = 4;
+    private static final TriangleMesh[] MESHES = new TriangleMesh[1 << FACE_COLORS.length];
+
+    private CubieMeshes() {
+    }
+
+    // Faces are numbered +X, -X, +Y, -Y, +Z, -Z in JavaFX coordinates (y down, z away from the camera).
+    static int face(int axis, int sign) {
+        return axis * 2 + (sign > 0 ? 0 : 1);
+    }
+
+    static MeshView create(int stickerMask) {
+        MeshView view = new MeshView(mesh(stickerMask));
+        view.setMaterial(Holder.MATERIAL);
+        return view;
+    }
+
+    private static synchronized TriangleMesh mesh(int stickerMask) {
+        TriangleMesh mesh = MESHES[stickerMask];
+        if (mesh == null) {
+            mesh = buildMesh(stickerMask);
+            MESHES[stickerMask] = mesh;
+        }
+        return mesh;
+    }
+
+    private static TriangleMesh buildMesh(int stickerMask) {
+        TriangleMesh mesh = new TriangleMesh();
+        for (int cell = 0; cell < CELL_COUNT; cell++) {
+            mesh.getTexCoords().addAll((cell + 0.5f) / CELL_COUNT, 0.5f);
+        }
+        float half = (float) (CubeConstants.CUBIE_SIZE / 2);
+        float stickerHalf = (float) (CubeConstants.CUBIE_SIZE * 0.45);
+        float stickerDistance = half + (float) CubeConstants.STICKER_THICKNESS;
+        for (int axis = 0; axis < 3; axis++) {
+            for (int sign = 1; sign >= -1; sign -= 2) {
+                int face = face(axis, sign);
+                addQuad(mesh, axis, sign, half, half, BODY_CELL);
+                if ((stickerMask & (1 << face)) != 0) {
+                    addQuad(mesh, axis, sign, stickerDistance, stickerHalf, face);
+                }
+            }
+        }
+        return mesh;
+    }
+
+    // Corners are wound counter-clockwise around the outward normal, which JavaFX treats as front-facing.
+    private static void addQuad(TriangleMesh mesh, int axis, int sign, float distance, float size, int cell) {
+        int first = mesh.getPoints().size() / 3;
+        int uAxis = sign > 0 ? (axis + 1) % 3 : (axis + 2) % 3;
+        int vAxis = sign > 0 ? (axis + 2) % 3 : (axis + 1) % 3;
+        float[][] corners = { { -size, -size }, { size, -size }, { size, size }, { -size, size } };
+        for (float[] corner : corners) {
+            float[] point = new float[3];
+            point[axis] = sign * distance;
+            point[uAxis] = corner[0];
+            point[vAxis] = corner[1];
+            mesh.getPoints().addAll(point);
+        }
+        mesh.getFaces().addAll(
+            first, cell, first + 1, cell, first + 2, cell,
+            first, cell, first + 2, cell, first + 3, cell);
+    }
+
+    private static Image atlas() {
+        WritableImage image = new WritableImage(CELL_COUNT * CELL_PIXELS, CELL_PIXELS);
+        PixelWriter writer = image.getPixelWriter();
+        for (int cell = 0; cell < CELL_COUNT; cell++) {
+            Color color = cell == BODY_CELL ? Color.BLACK : FACE_COLORS[cell];
+            for (int x = 0; x < CELL_PIXELS; x++) {
+                for (int y = 0; y < CELL_PIXELS; y++) {
+                    writer.setColor(cell * CELL_PIXELS + x, y, color);
+                }
+            }
+        }
+        return image;
+    }
+
+    private static final class Holder {
+        private static final PhongMaterial MATERIAL = createMaterial();
+
+        private static PhongMaterial createMaterial() {
+            PhongMaterial material = new PhongMaterial(Color.WHITE);
+            material.setDiffuseMap(atlas());
+            return material;
+        }
+    }
+}
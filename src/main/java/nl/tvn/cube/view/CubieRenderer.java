@@ -0,0 +1,25 @@
+package nl.tvn.cube.view;
+
+import java.util.Locale;
+
+public enum CubieRenderer {
+    BOX,
+    MESH;
+
+    public static final String PROPERTY = "cube.renderer";
+
+    // An unknown value falls back to BOX: this runs in CubieView's static initializer, where an exception
+    // would leave every later cube failing with NoClassDefFoundError.
+    public static CubieRenderer configured() {
+        String configured = System.getProperty(PROPERTY);
+        if (configured == null || configured.isBlank()) {
+            return BOX;
+        }
+        try {
+            return valueOf(configured.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Ignoring -D" + PROPERTY + "=" + configured + ": expected box or mesh; using box");
+            return BOX;
+        }
+    }
+}
@@ -1,23 +1,40 @@
 package nl.tvn.cube.view;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import javafx.scene.Group;
 import javafx.scene.paint.Color;
 import javafx.scene.paint.PhongMaterial;
 import javafx.scene.shape.Box;
+import javafx.scene.shape.MeshView;
 import javafx.scene.transform.Affine;
 import javafx.scene.transform.Rotate;
+import nl.tvn.cube.model.CubeRotation;
 import nl.tvn.cube.model.CubieModel;
 import nl.tvn.cube.model.RotationAxis;
 
 public final class CubieView extends Group {
+    private static final CubieRenderer DEFAULT_RENDERER = CubieRenderer.configured();
+    private static final Map<Color, PhongMaterial> BOX_MATERIALS = new ConcurrentHashMap<>();
+    private static final double[][] ORIENTATIONS = buildOrientations();
     private final CubieModel model;
     private final Affine orientation;
+    private final Rotate turn;
 
     public CubieView(CubieModel model) {
+        this(model, DEFAULT_RENDERER);
+    }
+
+    public CubieView(CubieModel model, CubieRenderer renderer) {
         this.model = model;
         this.orientation = new Affine();
-        getTransforms().add(orientation);
-        buildGeometry();
+        this.turn = new Rotate();
+        getTransforms().addAll(turn, orientation);
+        switch (renderer) {
+            case BOX -> buildGeometry();
+            case MESH -> getChildren().add(buildMesh());
+        }
+        updateOrientation();
         updateTranslation();
     }
 
@@ -25,12 +42,31 @@ public final class CubieView extends Group {
         return model;
     }
 
-    public void rotateAroundWorld(RotationAxis axis, double angleDegrees) {
-        orientation.prepend(new Rotate(angleDegrees, axisVector(axis)));
+    // Sets the transform to the exact matrix of the model's rotation, so turns never accumulate rounding.
+    public void updateOrientation() {
+        double[] m = ORIENTATIONS[model.rotation()];
+        orientation.setToTransform(m[0], m[1], m[2], 0, m[3], m[4], m[5], 0, m[6], m[7], m[8], 0);
     }
 
-    public void resetOrientation() {
-        orientation.setToIdentity();
+    // The turn rotation stays in the transform list and pivots around the cube centre, so animating a
+    // slice only changes its angle instead of moving cubies between groups.
+    public void beginTurn(RotationAxis axis) {
+        turn.setAxis(switch (axis) {
+            case X -> Rotate.X_AXIS;
+            case Y -> Rotate.Y_AXIS;
+            case Z -> Rotate.Z_AXIS;
+        });
+        turn.setPivotX(-getTranslateX());
+        turn.setPivotY(-getTranslateY());
+        turn.setPivotZ(-getTranslateZ());
+    }
+
+    public void setTurnAngle(double angleDegrees) {
+        turn.setAngle(angleDegrees);
+    }
+
+    public void endTurn() {
+        turn.setAngle(0);
     }
 
     public void updateTranslation() {
@@ -40,9 +76,23 @@ public final class CubieView extends Group {
         setTranslateZ(-model.coordinate().z() * step);
     }
 
+    private MeshView buildMesh() {
+        int stickers = 0;
+        if (model.coordinate().x() != 0) {
+            stickers |= 1 << CubieMeshes.face(0, model.coordinate().x());
+        }
+        if (model.coordinate().y() != 0) {
+            stickers |= 1 << CubieMeshes.face(1, -model.coordinate().y());
+        }
+        if (model.coordinate().z() != 0) {
+            stickers |= 1 << CubieMeshes.face(2, -model.coordinate().z());
+        }
+        return CubieMeshes.create(stickers);
+    }
+
     private void buildGeometry() {
         Box base = new Box(CubeConstants.CUBIE_SIZE, CubeConstants.CUBIE_SIZE, CubeConstants.CUBIE_SIZE);
-        base.setMaterial(new PhongMaterial(Color.BLACK));
+        base.setMaterial(material(Color.BLACK));
         getChildren().add(base);
 
         double stickerSize = CubeConstants.CUBIE_SIZE * 0.9;
@@ -70,30 +120,42 @@ public final class CubieView extends Group {
 
     private Box stickerOnX(double size, double x, Color color) {
         Box sticker = new Box(CubeConstants.STICKER_THICKNESS, size, size);
-        sticker.setMaterial(new PhongMaterial(color));
+        sticker.setMaterial(material(color));
         sticker.setTranslateX(x);
         return sticker;
     }
 
     private Box stickerOnY(double size, double y, Color color) {
         Box sticker = new Box(size, CubeConstants.STICKER_THICKNESS, size);
-        sticker.setMaterial(new PhongMaterial(color));
+        sticker.setMaterial(material(color));
         sticker.setTranslateY(y);
         return sticker;
     }
 
     private Box stickerOnZ(double size, double z, Color color) {
         Box sticker = new Box(size, size, CubeConstants.STICKER_THICKNESS);
-        sticker.setMaterial(new PhongMaterial(color));
+        sticker.setMaterial(material(color));
         sticker.setTranslateZ(z);
         return sticker;
     }
 
-    private static javafx.geometry.Point3D axisVector(RotationAxis axis) {
-        return switch (axis) {
-            case X -> Rotate.X_AXIS;
-            case Y -> Rotate.Y_AXIS;
-            case Z -> Rotate.Z_AXIS;
-        };
+    // Box stickers of one colour share a material instead of creating one per sticker.
+    private static PhongMaterial material(Color color) {
+        return BOX_MATERIALS.computeIfAbsent(color, PhongMaterial::new);
+    }
+
+    // Model rotations conjugated by the flip of the y and z axes between model and JavaFX coordinates.
+    private static double[][] buildOrientations() {
+        int[] flip = { 1, -1, -1 };
+        double[][] orientations = new double[CubeRotation.COUNT][9];
+        for (int rotation = 0; rotation < CubeRotation.COUNT; rotation++) {
+            for (int row = 0; row < 3; row++) {
+                for (int column = 0; column < 3; column++) {
+                    orientations[rotation][row * 3 + column] =
+                        flip[row] * CubeRotation.matrix(rotation, row, column) * flip[column];
+                }
+            }
+        }
+        return orientations;
     }
 }
@@ -0,0 +1,90 @@
+package nl.tvn.cube.view;
+
+import java.util.Locale;
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.SubScene;
+import javafx.scene.control.Label;
+import javafx.util.Duration;
+import nl.tvn.cube.viewmodel.CubeViewModel;
+import nl.tvn.cube.viewmodel.RenderMetrics;
+import nl.tvn.cube.viewmodel.RollingHistogram;
+
+// Diagnostics label toggled with F3. The view model records metrics all the time; the label only reads
+// them, and only refreshes while it is shown.
+final class DiagnosticsOverlay {
+    static final String PROPERTY = "cube.diagnostics";
+    private static final Duration REFRESH = Duration.millis(500);
+    private final CubeViewModel viewModel;
+    private final Label label;
+    private final Timeline refresh;
+
+    DiagnosticsOverlay(CubeViewModel viewModel) {
+        this.viewModel = viewModel;
+        this.label = new Label();
+        label.setMouseTransparent(true);
+        label.setFocusTraversable(false);
+        label.setStyle("-fx-background-color: rgba(0,0,0,0.6); -fx-text-fill: white; -fx-padding: 4 8;"
+            + " -fx-font-size: 11px; -fx-font-family: monospace;");
+        label.managedProperty().bind(label.visibleProperty());
+        this.refresh = new Timeline(new KeyFrame(REFRESH, event -> update()));
+        refresh.setCycleCount(Animation.INDEFINITE);
+        setVisible(Boolean.getBoolean(PROPERTY));
+    }
+
+    Label label() {
+        return label;
+    }
+
+    void toggle() {
+        setVisible(!label.isVisible());
+    }
+
+    private void setVisible(boolean visible) {
+        label.setVisible(visible);
+        if (visible) {
+            update();
+            refresh.play();
+        } else {
+            refresh.stop();
+        }
+    }
+
+    private void update() {
+        RenderMetrics metrics = viewModel.metrics();
+        RollingHistogram frameTimes = metrics.frameTimes();
+        RollingHistogram latency = metrics.inputLatency();
+        label.setText(String.format(Locale.US,
+            "Frame ms  p50 %.1f  p95 %.1f  p99 %.1f  (%d frames, %d dropped)%n"
+                + "Input ms  p50 %.1f  p95 %.1f  p99 %.1f  (last %d turns)%n"
+                + "Queue %d (peak %d)  Nodes %d",
+            millis(frameTimes.percentile(50)), millis(frameTimes.percentile(95)), millis(frameTimes.percentile(99)),
+            metrics.frames(), metrics.droppedFrames(),
+            millis(latency.percentile(50)), millis(latency.percentile(95)), millis(latency.percentile(99)),
+            latency.count(),
+            viewModel.queuedMoves(), metrics.peakQueueDepth(), nodeCount()));
+    }
+
+    private int nodeCount() {
+        return label.getScene() == null ? 0 : count(label.getScene().getRoot());
+    }
+
+    private static int count(Node node) {
+        int count = 1;
+        if (node instanceof SubScene subScene) {
+            count += count(subScene.getRoot());
+        } else if (node instanceof Parent parent) {
+            for (Node child : parent.getChildrenUnmodifiable()) {
+                count += count(child);
+            }
+        }
+        return count;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
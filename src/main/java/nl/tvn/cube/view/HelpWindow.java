@@ -1,7 +1,7 @@
 package nl.tvn.cube.view;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
 import javafx.animation.Animation;
 import javafx.animation.PauseTransition;
 import javafx.animation.SequentialTransition;
@@ -17,6 +17,8 @@ import javafx.scene.SubScene;
 import javafx.scene.control.Label;
 import javafx.scene.control.Tab;
 import javafx.scene.control.TabPane;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
 import javafx.scene.layout.*;
 import javafx.scene.paint.Color;
 import javafx.scene.paint.PhongMaterial;
@@ -40,17 +42,19 @@ public final class HelpWindow {
     private static final double CAMERA_DISTANCE = 420;
     private static final double WINDOW_GAP = 12;
     private final Stage owner;
-    private final Stage stage;
+    private final List<Animation> previews = new ArrayList<>();
+    private Stage stage;
+    private Tab shortcutsTab;
 
     public HelpWindow(Stage owner) {
         this.owner = owner;
-        this.stage = new Stage();
-        stage.initOwner(owner);
-        stage.setTitle("Cube Help");
-        stage.setScene(new Scene(buildContent()));
     }
 
+    // The window and its nine preview cubes are only built when help is first requested.
     public void show() {
+        if (stage == null) {
+            stage = buildStage();
+        }
         if (!stage.isShowing()) {
             stage.show();
         }
@@ -59,6 +63,29 @@ public final class HelpWindow {
         stage.toFront();
     }
 
+    private Stage buildStage() {
+        Stage helpStage = new Stage();
+        helpStage.initOwner(owner);
+        helpStage.setTitle("Cube Help");
+        helpStage.setScene(new Scene(buildContent()));
+        helpStage.showingProperty().addListener((observable, wasShowing, showing) -> updatePreviews());
+        helpStage.iconifiedProperty().addListener((observable, wasIconified, iconified) -> updatePreviews());
+        shortcutsTab.selectedProperty().addListener((observable, wasSelected, selected) -> updatePreviews());
+        return helpStage;
+    }
+
+    // Previews only run while they can be seen: the window is showing, not minimized and on the Shortcuts tab.
+    private void updatePreviews() {
+        boolean visible = stage.isShowing() && !stage.isIconified() && shortcutsTab.isSelected();
+        for (Animation preview : previews) {
+            if (visible) {
+                preview.play();
+            } else {
+                preview.pause();
+            }
+        }
+    }
+
     private void positionToRightOfOwner() {
         Rectangle2D bounds = screenBoundsForOwner();
         double targetX = owner.getX() + owner.getWidth() + WINDOW_GAP;
@@ -86,7 +113,7 @@ public final class HelpWindow {
         TabPane tabPane = new TabPane();
         tabPane.setTabClosingPolicy(TabPane.TabClosingPolicy.UNAVAILABLE);
 
-        Tab shortcutsTab = new Tab("Shortcuts", buildHelpContent());
+        shortcutsTab = new Tab("Shortcuts", buildHelpContent());
         Tab aboutTab = new Tab("About", buildAboutContent());
         tabPane.getTabs().addAll(shortcutsTab, aboutTab);
 
@@ -151,22 +178,30 @@ public final class HelpWindow {
         label.setTextFill(Color.WHITE);
         label.setStyle("-fx-font-size: 12px; -fx-font-weight: bold;");
 
-        CubeViewModel viewModel = new CubeViewModel();
-        StackPane preview = buildCubePreview(viewModel);
+        StackPane preview;
+        if (PreviewSprites.enabled()) {
+            List<Image> frames = PreviewSprites.frames(definition.move(), (int) CUBE_SCENE_SIZE, () -> {
+                CubeViewModel viewModel = new CubeViewModel();
+                return new PreviewSprites.PreviewScene(viewModel, buildSubScene(viewModel));
+            });
+            ImageView sprite = new ImageView();
+            previews.add(PreviewSprites.playback(sprite, frames, TURN_DURATION, PAUSE_DURATION));
+            preview = new StackPane(sprite);
+        } else {
+            CubeViewModel viewModel = new CubeViewModel();
+            preview = new StackPane(buildSubScene(viewModel));
+            previews.add(buildAnimation(viewModel, definition.move(), definition.move().inverse()));
+        }
         preview.setPadding(new Insets(6));
         preview.setBackground(new Background(new BackgroundFill(Color.web("#2b2b2b"), new CornerRadii(6), Insets.EMPTY)));
 
-        Move inverse = new Move(definition.move().axis(), definition.move().layers(), -definition.move().quarterTurns());
-        Animation animation = buildAnimation(viewModel, definition.move(), inverse);
-        animation.play();
-
         VBox card = new VBox(6, label, preview);
         card.setPadding(new Insets(CARD_PADDING));
         card.setBackground(new Background(new BackgroundFill(Color.web("#262626"), new CornerRadii(8), Insets.EMPTY)));
         return card;
     }
 
-    private StackPane buildCubePreview(CubeViewModel viewModel) {
+    private SubScene buildSubScene(CubeViewModel viewModel) {
         Group root3d = new Group();
         Group cubeGroup = viewModel.cubeGroup();
         root3d.getChildren().add(cubeGroup);
@@ -189,7 +224,7 @@ public final class HelpWindow {
         cubeGroup.setScaleY(CUBE_SCALE);
         cubeGroup.setScaleZ(CUBE_SCALE);
 
-        return new StackPane(subScene);
+        return subScene;
     }
 
     private Animation buildAnimation(CubeViewModel viewModel, Move move, Move inverse) {
@@ -207,7 +242,7 @@ public final class HelpWindow {
     }
 
     private static Move faceMove(RotationAxis axis, int layer, int turns) {
-        return new Move(axis, Set.of(layer), turns);
+        return Move.of(axis, Move.layerBit(layer), turns);
     }
 
     private Camera createCamera() {
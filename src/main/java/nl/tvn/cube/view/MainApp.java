@@ -1,13 +1,16 @@
 package nl.tvn.cube.view;
 
+import java.util.concurrent.CompletableFuture;
 import javafx.application.Application;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
+import nl.tvn.cube.solver.TwoPhaseSolver;
 import nl.tvn.cube.viewmodel.CubeViewModel;
 
 public final class MainApp extends Application {
     @Override
     public void start(Stage stage) {
+        CompletableFuture.runAsync(TwoPhaseSolver::prepareTables);
         CubeViewModel viewModel = new CubeViewModel();
         MainView view = new MainView(viewModel);
         Scene scene = new Scene(view.root(), 900, 700, true);
@@ -1,5 +1,6 @@
 package nl.tvn.cube.view;
 
+import javafx.application.Platform;
 import javafx.beans.binding.Bindings;
 import javafx.geometry.Insets;
 import javafx.scene.Group;
@@ -9,6 +10,7 @@ import javafx.scene.SceneAntialiasing;
 import javafx.scene.SubScene;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
+import javafx.scene.control.Slider;
 import javafx.scene.control.TextField;
 import javafx.scene.input.KeyCode;
 import javafx.scene.layout.BorderPane;
@@ -25,7 +27,17 @@ import javafx.scene.AmbientLight;
 import javafx.scene.PointLight;
 import javafx.scene.transform.Rotate;
 import javafx.scene.transform.Translate;
+import java.util.List;
 import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import nl.tvn.cube.model.CubeState;
+import nl.tvn.cube.model.Move;
+import nl.tvn.cube.solver.Scrambler;
+import nl.tvn.cube.solver.Solution;
+import nl.tvn.cube.solver.TwoPhaseSolver;
+import nl.tvn.cube.viewmodel.AlgorithmOptimization;
+import nl.tvn.cube.viewmodel.AlgorithmOptimizer;
 import nl.tvn.cube.viewmodel.AlgorithmParseResult;
 import nl.tvn.cube.viewmodel.AlgorithmParser;
 import nl.tvn.cube.viewmodel.CubeViewModel;
@@ -40,8 +52,14 @@ public final class MainView {
     private static final double CAMERA_PITCH_STEP = 6.0;
     private static final double CAMERA_ROLL_STEP = 6.0;
     private static final double SQRT_3 = Math.sqrt(3.0);
+    private static final long MAX_ANIMATED_MOVES = 100_000;
+    private static final String SCRAMBLE_SEED_PROPERTY = "cube.scramble.seed";
     private final CubeViewModel viewModel;
+    private final TwoPhaseSolver solver = new TwoPhaseSolver();
+    private final Scrambler scrambler = new Scrambler();
+    private final SplittableRandom scrambleRandom = scrambleRandom();
     private final BorderPane root;
+    private final DiagnosticsOverlay diagnostics;
     private Rotate cameraYaw;
     private Rotate cameraPitch;
     private Rotate cameraRoll;
@@ -50,6 +68,7 @@ public final class MainView {
     public MainView(CubeViewModel viewModel) {
         this.viewModel = viewModel;
         this.root = new BorderPane();
+        this.diagnostics = new DiagnosticsOverlay(viewModel);
         root.setFocusTraversable(true);
         root.setTop(buildControls());
         root.setCenter(buildScene());
@@ -65,6 +84,20 @@ public final class MainView {
 
     public void bindInput(Scene scene) {
         scene.setOnKeyPressed(event -> {
+            if (event.getCode() == KeyCode.F3) {
+                diagnostics.toggle();
+                event.consume();
+                return;
+            }
+            if (event.getCode() == KeyCode.BACK_SPACE) {
+                if (event.isShiftDown()) {
+                    viewModel.redo();
+                } else {
+                    viewModel.undo();
+                }
+                event.consume();
+                return;
+            }
             if (event.getCode() == KeyCode.LEFT) {
                 rotateCameraYaw(-CAMERA_YAW_STEP);
                 event.consume();
@@ -124,12 +157,15 @@ public final class MainView {
         subScene.setOnMouseClicked(event -> root.requestFocus());
 
         Label cameraOrientationLabel = buildCameraOrientationLabel();
-        StackPane container = new StackPane(subScene, cameraOrientationLabel);
+        Label diagnosticsLabel = diagnostics.label();
+        StackPane container = new StackPane(subScene, cameraOrientationLabel, diagnosticsLabel);
         container.setOnMouseClicked(event -> root.requestFocus());
         container.setPadding(new Insets(SCENE_PADDING));
         container.setMinSize(0, 0);
         StackPane.setAlignment(cameraOrientationLabel, Pos.BOTTOM_RIGHT);
         StackPane.setMargin(cameraOrientationLabel, new Insets(0, 6, 6, 0));
+        StackPane.setAlignment(diagnosticsLabel, Pos.TOP_LEFT);
+        StackPane.setMargin(diagnosticsLabel, new Insets(6, 0, 0, 6));
         subScene.widthProperty().bind(Bindings.max(1, container.widthProperty().subtract(SCENE_PADDING * 2)));
         subScene.heightProperty().bind(Bindings.max(1, container.heightProperty().subtract(SCENE_PADDING * 2)));
         cubeGroup.scaleXProperty().bind(Bindings.createDoubleBinding(
@@ -147,7 +183,6 @@ public final class MainView {
         reset.setOnAction(event -> viewModel.reset());
         Button randomize = new Button("Randomize");
         randomize.setFocusTraversable(false);
-        randomize.setOnAction(event -> viewModel.randomize());
         TextField algorithmInput = new TextField();
         algorithmInput.setPromptText("Algorithm (e.g., R U R' U')");
         algorithmInput.setPrefColumnCount(24);
@@ -156,6 +191,20 @@ public final class MainView {
         errorLabel.setTextFill(Color.SALMON);
         errorLabel.setVisible(false);
         errorLabel.managedProperty().bind(errorLabel.visibleProperty());
+        randomize.setOnAction(event -> {
+            randomize.setDisable(true);
+            CubeState target = Scrambler.randomState(scrambleRandom);
+            CompletableFuture.supplyAsync(() -> scrambler.scramble(target))
+                .whenComplete((scramble, error) -> Platform.runLater(() -> {
+                    randomize.setDisable(false);
+                    showScramble(scramble, error, errorLabel);
+                }));
+        });
+
+        Label optimizationLabel = new Label();
+        optimizationLabel.setTextFill(Color.LIGHTGRAY);
+        optimizationLabel.setVisible(false);
+        optimizationLabel.managedProperty().bind(optimizationLabel.visibleProperty());
 
         Button run = new Button("Run");
         run.setFocusTraversable(false);
@@ -165,16 +214,50 @@ public final class MainView {
             if (!result.isValid()) {
                 errorLabel.setText(result.errorMessage());
                 errorLabel.setVisible(true);
+                optimizationLabel.setVisible(false);
+                return;
+            }
+            if (result.algorithm().length() > MAX_ANIMATED_MOVES) {
+                errorLabel.setText("Algorithm expands to " + result.algorithm().length() + " moves; at most "
+                    + MAX_ANIMATED_MOVES + " can be animated.");
+                errorLabel.setVisible(true);
+                optimizationLabel.setVisible(false);
                 return;
             }
             errorLabel.setVisible(false);
-            viewModel.applyMoves(result.moves());
+            AlgorithmOptimization optimization = AlgorithmOptimizer.optimize(result.algorithm());
+            optimizationLabel.setText("Optimized " + optimization.originalLength() + " moves to "
+                + optimization.optimizedLength() + ".");
+            optimizationLabel.setVisible(optimization.removedMoves() > 0);
+            viewModel.applyMoves(optimization.moves());
             root.requestFocus();
         };
 
         run.setOnAction(event -> runAlgorithm.run());
         algorithmInput.setOnAction(event -> runAlgorithm.run());
 
+        Button solve = new Button("Solve");
+        solve.setFocusTraversable(false);
+        solve.setOnAction(event -> {
+            if (viewModel.isAnimating()) {
+                return;
+            }
+            solve.setDisable(true);
+            CubeState target = viewModel.state().copy();
+            CompletableFuture.supplyAsync(() -> solver.solve(target))
+                .whenComplete((solution, error) -> Platform.runLater(() -> {
+                    solve.setDisable(false);
+                    showSolution(target, solution, error, errorLabel);
+                }));
+        });
+
+        Button undo = new Button("Undo");
+        undo.setFocusTraversable(false);
+        undo.setOnAction(event -> viewModel.undo());
+        Button redo = new Button("Redo");
+        redo.setFocusTraversable(false);
+        redo.setOnAction(event -> viewModel.redo());
+
         Button help = new Button("Help");
         help.setFocusTraversable(false);
         help.setOnAction(event -> {
@@ -186,16 +269,88 @@ public final class MainView {
         Region spacer = new Region();
         HBox.setHgrow(spacer, Priority.ALWAYS);
 
-        HBox controls = new HBox(10, reset, randomize, algorithmInput, run, spacer, help);
+        HBox controls = new HBox(10, reset, randomize, algorithmInput, run, solve, undo, redo, spacer, help);
         controls.setPadding(new Insets(10));
         controls.setStyle("-fx-background-color: #252525;");
 
-        VBox wrapper = new VBox(6, controls, errorLabel);
+        VBox wrapper = new VBox(6, controls, buildHistoryBar(undo, redo), errorLabel, optimizationLabel);
         wrapper.setStyle("-fx-background-color: #252525;");
         wrapper.setPadding(new Insets(0, 10, 10, 10));
         return wrapper;
     }
 
+    // A fixed -Dcube.scramble.seed makes the sequence of Randomize scrambles repeat from run to run.
+    private static SplittableRandom scrambleRandom() {
+        Long seed = Long.getLong(SCRAMBLE_SEED_PROPERTY);
+        return seed == null ? new SplittableRandom() : new SplittableRandom(seed);
+    }
+
+    // The slider spans the recorded history; dragging it jumps to that point without animation.
+    private HBox buildHistoryBar(Button undo, Button redo) {
+        Slider slider = new Slider();
+        slider.setFocusTraversable(false);
+        slider.setBlockIncrement(1);
+        HBox.setHgrow(slider, Priority.ALWAYS);
+        Label position = new Label();
+        position.setTextFill(Color.LIGHTGRAY);
+        position.setMinWidth(120);
+        boolean[] updating = new boolean[1];
+        Runnable update = () -> {
+            updating[0] = true;
+            slider.setMin(viewModel.historyStart());
+            slider.setMax(viewModel.historyEnd());
+            slider.setValue(viewModel.historyPosition());
+            updating[0] = false;
+            slider.setDisable(viewModel.historyEnd() == viewModel.historyStart());
+            undo.setDisable(viewModel.historyPosition() == viewModel.historyStart());
+            redo.setDisable(viewModel.historyPosition() == viewModel.historyEnd());
+            position.setText("Move " + viewModel.historyPosition() + " of " + viewModel.historyEnd());
+        };
+        slider.valueProperty().addListener((observable, oldValue, newValue) -> {
+            if (!updating[0] && !viewModel.seekHistory(Math.round(newValue.doubleValue()))) {
+                update.run();
+            }
+        });
+        viewModel.setOnHistoryChanged(update);
+        update.run();
+
+        Label title = new Label("History");
+        title.setTextFill(Color.LIGHTGRAY);
+        HBox bar = new HBox(10, title, slider, position);
+        bar.setAlignment(Pos.CENTER_LEFT);
+        bar.setPadding(new Insets(0, 10, 0, 10));
+        return bar;
+    }
+
+    // The solution only fits the state it was computed for, so it is dropped if the cube moved meanwhile.
+    private void showScramble(List<Move> scramble, Throwable error, Label errorLabel) {
+        if (error != null) {
+            Throwable cause = error.getCause() != null ? error.getCause() : error;
+            errorLabel.setText("Cannot scramble: " + cause.getMessage());
+            errorLabel.setVisible(true);
+            return;
+        }
+        errorLabel.setVisible(false);
+        viewModel.randomize(scramble);
+    }
+
+    private void showSolution(CubeState target, Solution solution, Throwable error, Label errorLabel) {
+        if (error != null) {
+            Throwable cause = error.getCause() != null ? error.getCause() : error;
+            errorLabel.setText("Cannot solve: " + cause.getMessage());
+            errorLabel.setVisible(true);
+            return;
+        }
+        if (viewModel.isAnimating() || viewModel.queuedMoves() > 0 || !viewModel.state().equals(target)) {
+            errorLabel.setText("Cube changed while solving; press Solve again.");
+            errorLabel.setVisible(true);
+            return;
+        }
+        errorLabel.setVisible(false);
+        viewModel.applyMoves(solution.moves());
+        root.requestFocus();
+    }
+
     private void rotateCameraYaw(double deltaDegrees) {
         if (cameraYaw == null) {
             return;
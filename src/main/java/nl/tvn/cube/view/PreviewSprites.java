@@ -0,0 +1,210 @@
+package nl.tvn.cube.view;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import javafx.animation.Animation;
+import javafx.animation.Interpolator;
+import javafx.animation.KeyFrame;
+import javafx.animation.KeyValue;
+import javafx.animation.Timeline;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.SubScene;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.util.Duration;
+import nl.tvn.cube.model.Move;
+import nl.tvn.cube.model.MoveNotation;
+import nl.tvn.cube.viewmodel.CubeViewModel;
+
+// Help previews rendered once into still frames of the turn and played back as 2D images. A preview is
+// the same turn forwards and backwards, so one set of frames serves both halves of the loop. Frames are
+// kept in memory and, when a cache directory is configured, stored gzipped per move, size, renderer and build.
+final class PreviewSprites {
+    static final String MODE_PROPERTY = "cube.help.previews";
+    static final String CACHE_PROPERTY = "cube.help.sprite.dir";
+    private static final int MAGIC = 0x43554253;
+    private static final int FRAMES_PER_TURN = 12;
+    private static final Map<String, List<Image>> FRAMES = new HashMap<>();
+    private static final Optional<String> BUILD = build();
+    // Read once, like CubieView's default, so a bad value is reported once rather than per key.
+    private static final String RENDERER = CubieRenderer.configured().name().toLowerCase(Locale.ROOT);
+
+    private PreviewSprites() {
+    }
+
+    static boolean enabled() {
+        return "sprites".equalsIgnoreCase(System.getProperty(MODE_PROPERTY, "").trim());
+    }
+
+    // Must run on the FX application thread, which snapshots require.
+    static List<Image> frames(Move move, int size, Supplier<PreviewScene> scene) {
+        String key = key(move, size);
+        List<Image> frames = FRAMES.get(key);
+        if (frames != null) {
+            return frames;
+        }
+        Optional<Path> file = cacheDirectory().map(directory -> directory.resolve(key + ".frames"));
+        frames = file.flatMap(path -> read(path, size)).orElse(null);
+        if (frames == null) {
+            List<Image> rendered = render(move, scene.get());
+            file.ifPresent(path -> write(path, rendered));
+            frames = rendered;
+        }
+        FRAMES.put(key, frames);
+        return frames;
+    }
+
+    static Animation playback(ImageView view, List<Image> frames, Duration turn, Duration pause) {
+        Timeline timeline = new Timeline();
+        int last = frames.size() - 1;
+        Duration backwards = turn.add(pause);
+        for (int i = 0; i <= last; i++) {
+            Duration offset = turn.multiply((double) i / last);
+            timeline.getKeyFrames().add(frame(view, offset, frames.get(i)));
+            timeline.getKeyFrames().add(frame(view, backwards.add(offset), frames.get(last - i)));
+        }
+        timeline.getKeyFrames().add(frame(view, backwards.multiply(2), frames.get(0)));
+        timeline.setCycleCount(Animation.INDEFINITE);
+        view.setImage(frames.get(0));
+        return timeline;
+    }
+
+    private static KeyFrame frame(ImageView view, Duration time, Image image) {
+        return new KeyFrame(time, new KeyValue(view.imageProperty(), image, Interpolator.DISCRETE));
+    }
+
+    private static List<Image> render(Move move, PreviewScene scene) {
+        SnapshotParameters parameters = new SnapshotParameters();
+        List<Image> frames = new ArrayList<>(FRAMES_PER_TURN + 1);
+        try {
+            for (int i = 0; i <= FRAMES_PER_TURN; i++) {
+                scene.viewModel().poseTurn(move, (double) i / FRAMES_PER_TURN);
+                frames.add(scene.subScene().snapshot(parameters, null));
+            }
+        } finally {
+            scene.viewModel().clearPose();
+        }
+        return frames;
+    }
+
+    private static String key(Move move, int size) {
+        return MoveNotation.format(move).replace('\'', 'i') + "-" + size + "-"
+            + RENDERER + "-" + BUILD.orElse("dev");
+    }
+
+    // The version from the filtered build.properties, plus the build time for snapshots, whose rendering can
+    // change without a version bump. Empty when the classes were not built by Maven.
+    private static Optional<String> build() {
+        Properties properties = new Properties();
+        try (InputStream input = PreviewSprites.class.getResourceAsStream("build.properties")) {
+            if (input != null) {
+                properties.load(input);
+            }
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+        String version = properties.getProperty("version", "");
+        String built = properties.getProperty("built", "");
+        if (version.isEmpty() || version.contains("${") || built.contains("${")) {
+            return Optional.empty();
+        }
+        return Optional.of(version.endsWith("-SNAPSHOT") ? version + "-" + built : version);
+    }
+
+    // Frames are only stored on disk when the build is known, so sprites from other builds are never reused.
+    private static Optional<Path> cacheDirectory() {
+        String configured = System.getProperty(CACHE_PROPERTY);
+        if (BUILD.isEmpty() || configured == null || configured.isBlank()) {
+            return Optional.empty();
+        }
+        return Optional.of(Path.of(configured));
+    }
+
+    // The header is checked against the expected frame count and preview size before anything is allocated,
+    // so a corrupt or foreign file is rendered again instead of sizing the pixel buffer.
+    private static Optional<List<Image>> read(Path file, int size) {
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new GZIPInputStream(Files.newInputStream(file))))) {
+            if (input.readInt() != MAGIC) {
+                return Optional.empty();
+            }
+            int count = input.readInt();
+            int width = input.readInt();
+            int height = input.readInt();
+            if (count != FRAMES_PER_TURN + 1 || width != size || height != size) {
+                return Optional.empty();
+            }
+            int[] pixels = new int[width * height];
+            List<Image> frames = new ArrayList<>(count);
+            for (int frame = 0; frame < count; frame++) {
+                for (int i = 0; i < pixels.length; i++) {
+                    pixels[i] = input.readInt();
+                }
+                WritableImage image = new WritableImage(width, height);
+                image.getPixelWriter().setPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), pixels, 0, width);
+                frames.add(image);
+            }
+            return Optional.of(frames);
+        } catch (IOException | RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+
+    // Written to a temporary file first so a partially written cache entry is never read back.
+    private static void write(Path file, List<Image> frames) {
+        Path temporary = null;
+        try {
+            Files.createDirectories(file.getParent());
+            temporary = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            try (DataOutputStream output = new DataOutputStream(
+                new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(temporary))))) {
+                int width = (int) frames.get(0).getWidth();
+                int height = (int) frames.get(0).getHeight();
+                output.writeInt(MAGIC);
+                output.writeInt(frames.size());
+                output.writeInt(width);
+                output.writeInt(height);
+                int[] pixels = new int[width * height];
+                for (Image frame : frames) {
+                    frame.getPixelReader().getPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), pixels, 0, width);
+                    for (int pixel : pixels) {
+                        output.writeInt(pixel);
+                    }
+                }
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            if (temporary != null) {
+                try {
+                    Files.deleteIfExists(temporary);
+                } catch (IOException ignored) {
+                    // A stray temporary file does not affect later reads.
+                }
+            }
+        }
+    }
+
+    record PreviewScene(CubeViewModel viewModel, SubScene subScene) {
+    }
+}
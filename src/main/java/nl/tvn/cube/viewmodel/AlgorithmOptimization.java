@@ -0,0 +1,19 @@
+package nl.tvn.cube.viewmodel;
+
+import java.util.List;
+import nl.tvn.cube.model.Move;
+import nl.tvn.cube.model.MoveSequence;
+
+public record AlgorithmOptimization(MoveSequence sequence, long originalLength) {
+    public List<Move> moves() {
+        return sequence.asList();
+    }
+
+    public int optimizedLength() {
+        return sequence.size();
+    }
+
+    public long removedMoves() {
+        return originalLength - sequence.size();
+    }
+}
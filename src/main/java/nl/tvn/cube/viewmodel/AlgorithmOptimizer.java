@@ -0,0 +1,52 @@
+package nl.tvn.cube.viewmodel;
+
+import java.util.Arrays;
+import nl.tvn.cube.model.Move;
+import nl.tvn.cube.model.MoveSequence;
+
+// Moves about the same axis commute, so each incoming move is merged into the trailing run of same-axis
+// moves on the output: a move on the same layers adds its turns (and disappears at a multiple of four),
+// any other same-axis move is skipped over. Cancelling a move can join two runs, which the stack handles.
+// The input is consumed as a stream, so a lazily expanded algorithm is optimized without materializing it.
+public final class AlgorithmOptimizer {
+    private AlgorithmOptimizer() {
+    }
+
+    public static AlgorithmOptimization optimize(Iterable<Move> moves) {
+        Move[] output = new Move[16];
+        int size = 0;
+        long originalLength = 0;
+        for (Move move : moves) {
+            originalLength++;
+            if (Math.floorMod(move.quarterTurns(), 4) == 0) {
+                continue;
+            }
+            int match = -1;
+            for (int i = size - 1; i >= 0 && output[i].axis() == move.axis(); i--) {
+                if (output[i].layerMask() == move.layerMask()) {
+                    match = i;
+                    break;
+                }
+            }
+            if (match < 0) {
+                if (size == output.length) {
+                    output = Arrays.copyOf(output, size + (size >> 1));
+                }
+                output[size++] = move;
+                continue;
+            }
+            int turns = Math.floorMod(output[match].quarterTurns() + move.quarterTurns(), 4);
+            if (turns == 0) {
+                System.arraycopy(output, match + 1, output, match, size - match - 1);
+                size--;
+            } else {
+                output[match] = Move.of(move.axis(), move.layerMask(), turns);
+            }
+        }
+        MoveSequence sequence = new MoveSequence(size);
+        for (int i = 0; i < size; i++) {
+            sequence.add(output[i]);
+        }
+        return new AlgorithmOptimization(sequence, originalLength);
+    }
+}
@@ -0,0 +1,29 @@
+package nl.tvn.cube.viewmodel;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("nl.tvn.cube.AlgorithmParse")
+@Label("Algorithm Parse")
+@Category({ "Cube", "Input" })
+@StackTrace(false)
+final class AlgorithmParseEvent extends Event {
+    @Label("Input Length")
+    int inputLength;
+    @Label("Expanded Length")
+    long expandedLength;
+    @Label("Valid")
+    boolean valid;
+
+    void finish(String input, AlgorithmParseResult result) {
+        if (shouldCommit()) {
+            inputLength = input == null ? 0 : input.length();
+            expandedLength = result.algorithm().length();
+            valid = result.isValid();
+            commit();
+        }
+    }
+}
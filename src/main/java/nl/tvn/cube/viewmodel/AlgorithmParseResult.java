@@ -1,18 +1,28 @@
 package nl.tvn.cube.viewmodel;
 
 import java.util.List;
+import nl.tvn.cube.model.Algorithm;
 import nl.tvn.cube.model.Move;
+import nl.tvn.cube.model.MoveSequence;
 
-public record AlgorithmParseResult(List<Move> moves, String errorMessage) {
+public record AlgorithmParseResult(Algorithm algorithm, String errorMessage) {
     public boolean isValid() {
         return errorMessage == null;
     }
 
-    public static AlgorithmParseResult success(List<Move> moves) {
-        return new AlgorithmParseResult(List.copyOf(moves), null);
+    public MoveSequence sequence() {
+        return algorithm.toSequence();
+    }
+
+    public List<Move> moves() {
+        return sequence().asList();
+    }
+
+    public static AlgorithmParseResult success(Algorithm algorithm) {
+        return new AlgorithmParseResult(algorithm, null);
     }
 
     public static AlgorithmParseResult error(String message) {
-        return new AlgorithmParseResult(List.of(), message);
+        return new AlgorithmParseResult(Algorithm.EMPTY, message);
     }
 }
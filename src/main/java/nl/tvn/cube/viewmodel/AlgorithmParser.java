@@ -1,19 +1,40 @@
 package nl.tvn.cube.viewmodel;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
-import java.util.Optional;
+import nl.tvn.cube.model.Algorithm;
 import nl.tvn.cube.model.Move;
+import nl.tvn.cube.model.MoveNotation;
+import nl.tvn.cube.model.MoveSequence;
 
+// Single pass over the input with an explicit stack of open groups, so deeply nested input cannot
+// overflow the call stack. Suffixes apply left to right: R2' is (R2)' and R'2 is (R')2. Lowercase face
+// letters and a trailing w are wide turns; x, y and z rotate the whole cube.
 public final class AlgorithmParser {
+    static final int MAX_NESTING = 64;
+    static final long MAX_REPEAT = 1_000_000_000L;
+    // Short repeats of plain moves are stored expanded, which keeps the common case a flat move run.
+    private static final int INLINE_REPEAT_LIMIT = 16;
+
     private AlgorithmParser() {
     }
 
     public static AlgorithmParseResult parse(String input) {
+        AlgorithmParseEvent event = new AlgorithmParseEvent();
+        event.begin();
+        AlgorithmParseResult result = parseInput(input);
+        event.finish(input, result);
+        return result;
+    }
+
+    private static AlgorithmParseResult parseInput(String input) {
         if (input == null || input.isBlank()) {
             return AlgorithmParseResult.error("Enter an algorithm string.");
         }
-        List<Move> moves = new ArrayList<>();
+        Deque<Group> open = new ArrayDeque<>();
+        Group current = new Group(' ', 0);
         int index = 0;
         while (index < input.length()) {
             char raw = input.charAt(index);
@@ -21,53 +42,178 @@ public final class AlgorithmParser {
                 index++;
                 continue;
             }
-            char token = Character.toUpperCase(raw);
-            if (isMoveToken(token)) {
-                boolean counterClockwise = false;
+            if (raw == '(' || raw == '[') {
+                if (open.size() >= MAX_NESTING) {
+                    return AlgorithmParseResult.error("Groups are nested more than " + MAX_NESTING
+                        + " deep at position " + (index + 1) + ".");
+                }
+                open.push(current);
+                current = new Group(raw, index);
                 index++;
-                if (index < input.length() && input.charAt(index) == '\'') {
-                    counterClockwise = true;
+                continue;
+            }
+            if (raw == ',' || raw == ':') {
+                if (current.opener != '[' || current.separator != 0) {
+                    return AlgorithmParseResult.error("Unexpected '" + raw + "' at position " + (index + 1) + ".");
+                }
+                if (current.isEmpty()) {
+                    return AlgorithmParseResult.error("Missing moves before '" + raw + "' at position " + (index + 1) + ".");
+                }
+                current.separator = raw;
+                current.first = current.build();
+                index++;
+                continue;
+            }
+            Algorithm item;
+            if (raw == ')' || raw == ']') {
+                char opener = raw == ')' ? '(' : '[';
+                if (current.opener != opener) {
+                    return AlgorithmParseResult.error("Unexpected '" + raw + "' at position " + (index + 1) + ".");
+                }
+                if (current.isEmpty()) {
+                    return AlgorithmParseResult.error("Empty group at position " + (index + 1) + ".");
+                }
+                if (opener == '[' && current.separator == 0) {
+                    return AlgorithmParseResult.error("Expected ',' or ':' before ']' at position " + (index + 1) + ".");
+                }
+                item = current.close();
+                current = open.pop();
+                index++;
+            } else {
+                Move move = null;
+                char token = Character.toUpperCase(raw);
+                index++;
+                if (raw != token) {
+                    move = MoveNotation.wide(token, 1);
+                } else if (index < input.length() && input.charAt(index) == 'w') {
+                    move = MoveNotation.wide(token, 1);
+                    if (move != null) {
+                        index++;
+                    }
+                }
+                if (move == null) {
+                    move = MoveNotation.face(token, 1);
+                }
+                if (move == null) {
+                    if (raw == '\'') {
+                        return AlgorithmParseResult.error("Apostrophe must follow a move at position " + index + ".");
+                    }
+                    if (Character.isDigit(raw)) {
+                        return AlgorithmParseResult.error("Repeat count must follow a move at position " + index + ".");
+                    }
+                    return AlgorithmParseResult.error("Invalid character '" + raw + "' at position " + index + ".");
+                }
+                MoveSequence single = new MoveSequence(1);
+                single.add(move);
+                item = new Algorithm.Moves(single);
+            }
+            while (index < input.length()) {
+                char suffix = input.charAt(index);
+                if (suffix == '\'') {
+                    item = Algorithm.inverse(item);
                     index++;
+                    continue;
+                }
+                if (!Character.isDigit(suffix)) {
+                    break;
                 }
-                int repeat = 0;
                 int repeatStart = index;
+                long repeat = 0;
                 while (index < input.length() && Character.isDigit(input.charAt(index))) {
                     repeat = repeat * 10 + Character.digit(input.charAt(index), 10);
                     index++;
-                }
-                if (repeatStart == index) {
-                    repeat = 1;
+                    if (repeat > MAX_REPEAT) {
+                        return AlgorithmParseResult.error("Repeat count exceeds " + MAX_REPEAT
+                            + " at position " + (repeatStart + 1) + ".");
+                    }
                 }
                 if (repeat < 1) {
                     return AlgorithmParseResult.error("Repeat count must be at least 1 at position " + (repeatStart + 1) + ".");
                 }
-                Optional<Move> move = MoveFactory.fromNotation(token, counterClockwise);
-                if (move.isEmpty()) {
-                    return AlgorithmParseResult.error("Unsupported move '" + token + "' at position " + (index + 1) + ".");
+                try {
+                    item = Algorithm.repeat(item, repeat);
+                } catch (ArithmeticException e) {
+                    return AlgorithmParseResult.error("Repeat count is too large at position " + (repeatStart + 1) + ".");
                 }
-                for (int i = 0; i < repeat; i++) {
-                    moves.add(move.get());
-                }
-                continue;
-            }
-            if (raw == '\'') {
-                return AlgorithmParseResult.error("Apostrophe must follow a move at position " + (index + 1) + ".");
             }
-            if (Character.isDigit(raw)) {
-                return AlgorithmParseResult.error("Repeat count must follow a move at position " + (index + 1) + ".");
-            }
-            return AlgorithmParseResult.error("Invalid character '" + raw + "' at position " + (index + 1) + ".");
+            current.add(item);
+        }
+        if (!open.isEmpty()) {
+            return AlgorithmParseResult.error("Missing '" + (current.opener == '(' ? ')' : ']') + "' for '"
+                + current.opener + "' at position " + (current.position + 1) + ".");
         }
-        if (moves.isEmpty()) {
+        if (current.isEmpty()) {
             return AlgorithmParseResult.error("Enter an algorithm string.");
         }
-        return AlgorithmParseResult.success(moves);
+        return AlgorithmParseResult.success(current.build());
     }
 
-    private static boolean isMoveToken(char token) {
-        return switch (token) {
-            case 'F', 'B', 'R', 'L', 'U', 'D', 'M', 'E', 'S' -> true;
-            default -> false;
-        };
+    private static final class Group {
+        private final char opener;
+        private final int position;
+        private final List<Algorithm> items = new ArrayList<>();
+        private MoveSequence run;
+        private char separator;
+        private Algorithm first;
+
+        private Group(char opener, int position) {
+            this.opener = opener;
+            this.position = position;
+        }
+
+        private boolean isEmpty() {
+            return items.isEmpty() && run == null;
+        }
+
+        private void add(Algorithm item) {
+            if (item instanceof Algorithm.Moves moves) {
+                append(moves.sequence(), 1);
+                return;
+            }
+            if (item instanceof Algorithm.Repeat repeat && repeat.body() instanceof Algorithm.Moves moves
+                && moves.length() <= INLINE_REPEAT_LIMIT / repeat.count()) {
+                append(moves.sequence(), (int) repeat.count());
+                return;
+            }
+            flush();
+            items.add(item);
+        }
+
+        private void append(MoveSequence moves, int repeat) {
+            if (run == null) {
+                run = new MoveSequence();
+            }
+            for (int r = 0; r < repeat; r++) {
+                for (int i = 0; i < moves.size(); i++) {
+                    run.add(moves.get(i));
+                }
+            }
+        }
+
+        private void flush() {
+            if (run != null) {
+                items.add(new Algorithm.Moves(run));
+                run = null;
+            }
+        }
+
+        // Returns the moves collected so far and starts an empty list for the next part.
+        private Algorithm build() {
+            flush();
+            Algorithm built = Algorithm.sequence(items);
+            items.clear();
+            return built;
+        }
+
+        private Algorithm close() {
+            Algorithm last = build();
+            if (separator == ',') {
+                return new Algorithm.Commutator(first, last);
+            }
+            if (separator == ':') {
+                return new Algorithm.Conjugate(first, last);
+            }
+            return last;
+        }
     }
 }
@@ -0,0 +1,26 @@
+package nl.tvn.cube.viewmodel;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("nl.tvn.cube.Command")
+@Label("Cube Command")
+@Category({ "Cube", "Input" })
+@StackTrace(false)
+final class CubeCommandEvent extends Event {
+    @Label("Command")
+    String command;
+    @Label("Moves")
+    int moves;
+
+    void finish(String command, int moves) {
+        if (shouldCommit()) {
+            this.command = command;
+            this.moves = moves;
+            commit();
+        }
+    }
+}
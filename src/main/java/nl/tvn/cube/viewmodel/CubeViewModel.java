@@ -1,39 +1,64 @@
 package nl.tvn.cube.viewmodel;
 
-import java.util.ArrayDeque;
-import java.util.ArrayList;
-import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
-import java.util.Set;
-import javafx.animation.KeyFrame;
-import javafx.animation.KeyValue;
-import javafx.animation.Timeline;
+import javafx.animation.AnimationTimer;
 import javafx.scene.Group;
-import javafx.scene.transform.Rotate;
-import javafx.util.Duration;
 import nl.tvn.cube.model.CubeModel;
+import nl.tvn.cube.model.CubeState;
 import nl.tvn.cube.model.CubieModel;
 import nl.tvn.cube.model.Move;
 import nl.tvn.cube.model.RotationAxis;
 import nl.tvn.cube.view.CubieView;
 
 public final class CubeViewModel {
-    private static final Duration TURN_DURATION = Duration.seconds(0.25);
-    private static final Duration RANDOM_TURN_DURATION = Duration.seconds(0.05);
+    public static final String BACKLOG_PROPERTY = "cube.input.backlog";
+    public static final int DEFAULT_MAX_BACKLOG = 16;
+    private static final double TURN_MILLIS = 250;
+    private static final long UNSTARTED = Long.MIN_VALUE;
     private final CubeModel model;
     private final Group cubeGroup;
     private final Map<CubieModel, CubieView> cubieViews;
-    private final Random random;
+    private final CubieModel[] affected;
+    private final CubieView[] affectedViews;
+    private final MoveQueue queue;
+    private final AnimationTimer frameDriver;
+    private final RenderMetrics metrics = new RenderMetrics();
+    private final MoveHistory history = new MoveHistory();
+    private Runnable historyListener;
+    private int unrecordedTurns;
+    private PlaybackPolicy playbackPolicy = PlaybackPolicy.DEFAULT;
     private boolean animating;
+    private boolean resetPending;
+    private boolean posed;
+    private Move turnMove;
+    private int turnCubies;
+    private double turnAngle;
+    private long turnStart;
+    private long turnNanos;
+    private long turnRequested = UNSTARTED;
+    private long lastFrame = UNSTARTED;
+    private TurnEvent turnEvent;
 
     public CubeViewModel() {
+        this(Integer.getInteger(BACKLOG_PROPERTY, DEFAULT_MAX_BACKLOG));
+    }
+
+    public CubeViewModel(int maxBacklog) {
+        this.queue = new MoveQueue(maxBacklog);
         this.model = new CubeModel();
+        history.clear(model);
         this.cubeGroup = new Group();
         this.cubieViews = new HashMap<>();
-        this.random = new Random();
+        this.affected = new CubieModel[CubeModel.CUBIE_COUNT];
+        this.affectedViews = new CubieView[CubeModel.CUBIE_COUNT];
+        this.frameDriver = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                advance(now);
+            }
+        };
         buildViews();
     }
 
@@ -41,57 +66,190 @@ public final class CubeViewModel {
         return cubeGroup;
     }
 
-    public void applyMove(Move move) {
+    public CubeState state() {
+        return model.state();
+    }
+
+    public boolean isAnimating() {
+        return animating;
+    }
+
+    public boolean isSolved() {
+        return model.isSolved();
+    }
+
+    public int queuedMoves() {
+        return queue.size();
+    }
+
+    public int maxBacklog() {
+        return queue.maxBacklog();
+    }
+
+    public long coalescedInputs() {
+        return queue.coalesced();
+    }
+
+    public long droppedInputs() {
+        return queue.dropped();
+    }
+
+    public RenderMetrics metrics() {
+        return metrics;
+    }
+
+    public long historyStart() {
+        return history.start();
+    }
+
+    public long historyPosition() {
+        return history.position();
+    }
+
+    public long historyEnd() {
+        return history.end();
+    }
+
+    // Called after every change to the history or its position.
+    public void setOnHistoryChanged(Runnable listener) {
+        this.historyListener = listener;
+    }
+
+    // Undo and redo animate one move; like seeking they are ignored while a turn is playing.
+    public boolean undo() {
         if (animating) {
-            return;
+            return false;
         }
-        List<CubieModel> affected = new ArrayList<>();
-        for (CubieModel cubie : model.cubies()) {
-            if (isInLayer(cubie, move.axis(), move.layers())) {
-                affected.add(cubie);
-            }
-        }
-
-        int turns = normalizeTurns(move.quarterTurns());
-        if (turns != 0) {
-            animateTurn(affected, move.axis(), turns, TURN_DURATION);
+        Move move = history.undo();
+        if (move == null) {
+            return false;
         }
+        playHistoryTurn(move.inverse(), "undo");
+        return true;
     }
 
-    public void reset() {
+    public boolean redo() {
         if (animating) {
-            return;
+            return false;
         }
-        model.reset();
-        for (CubieView view : cubieViews.values()) {
-            view.resetOrientation();
-            view.updateTranslation();
+        Move move = history.redo();
+        if (move == null) {
+            return false;
         }
+        playHistoryTurn(move, "redo");
+        return true;
     }
 
-    public void randomize() {
+    // Jumps to a position in the history without animation.
+    public boolean seekHistory(long position) {
         if (animating) {
-            return;
+            return false;
         }
-        int turnCount = 50 + random.nextInt(51);
-        List<Move> moves = new ArrayList<>(turnCount);
-        RotationAxis[] axes = RotationAxis.values();
-        int[] layers = new int[] { -1, 1 };
-        int[] turns = new int[] { -1, 1, 2, -2 };
-        for (int i = 0; i < turnCount; i++) {
-            RotationAxis axis = axes[random.nextInt(axes.length)];
-            int layer = layers[random.nextInt(layers.length)];
-            int turn = turns[random.nextInt(turns.length)];
-            moves.add(new Move(axis, Set.of(layer), turn));
+        CubeCommandEvent event = new CubeCommandEvent();
+        event.begin();
+        long from = history.position();
+        history.seek(position, model);
+        refreshViews();
+        historyChanged();
+        event.finish("seek", (int) Math.min(Integer.MAX_VALUE, Math.abs(history.position() - from)));
+        return true;
+    }
+
+    public PlaybackPolicy playbackPolicy() {
+        return playbackPolicy;
+    }
+
+    public void setPlaybackPolicy(PlaybackPolicy playbackPolicy) {
+        this.playbackPolicy = playbackPolicy;
+    }
+
+    public void applyMove(Move move) {
+        boolean accepted = queue.offer(move, TURN_MILLIS);
+        metrics.recordQueueDepth(queue.size());
+        MoveQueuedEvent.emit(move, accepted, queue.size());
+        playIfIdle();
+    }
+
+    // A reset requested mid-turn drops the queued moves and runs once the current turn has finished.
+    public void reset() {
+        CubeCommandEvent event = new CubeCommandEvent();
+        event.begin();
+        queue.clear();
+        if (animating) {
+            resetPending = true;
+        } else {
+            resetNow();
         }
-        playMoveSequence(moves, RANDOM_TURN_DURATION);
+        event.finish("reset", 0);
+    }
+
+    // Plays a scramble (see Scrambler) on top of the current state.
+    public void randomize(List<Move> scramble) {
+        CubeCommandEvent event = new CubeCommandEvent();
+        event.begin();
+        applyMoves(scramble);
+        event.finish("randomize", scramble.size());
     }
 
     public void applyMoves(List<Move> moves) {
-        if (animating || moves.isEmpty()) {
-            return;
+        applyMoves(moves, playbackPolicy.modeFor(moves.size()));
+    }
+
+    public void applyMoves(List<Move> moves, PlaybackMode mode) {
+        PlaybackEvent event = new PlaybackEvent();
+        event.begin();
+        switch (mode) {
+            case ANIMATED -> queue.offerAll(moves, TURN_MILLIS);
+            case TIME_BUDGETED -> queue.offerWithinBudget(
+                AlgorithmOptimizer.optimize(moves).moves(), playbackPolicy.budgetMillis(), TURN_MILLIS);
+            case INSTANT -> {
+                if (!animating) {
+                    for (Move move : moves) {
+                        model.apply(move);
+                        history.record(move, model);
+                    }
+                    refreshViews();
+                    historyChanged();
+                    event.finish(mode, moves.size(), queue.size());
+                    return;
+                }
+                queue.offerAll(moves, 0);
+            }
+        }
+        metrics.recordQueueDepth(queue.size());
+        playIfIdle();
+        event.finish(mode, moves.size(), queue.size());
+    }
+
+    private void resetNow() {
+        model.reset();
+        history.clear(model);
+        refreshViews();
+        historyChanged();
+    }
+
+    private void playHistoryTurn(Move move, String command) {
+        CubeCommandEvent event = new CubeCommandEvent();
+        event.begin();
+        unrecordedTurns++;
+        queue.offerSequenced(move, TURN_MILLIS);
+        playIfIdle();
+        historyChanged();
+        event.finish(command, 1);
+    }
+
+    private void historyChanged() {
+        if (historyListener != null) {
+            historyListener.run();
+        }
+    }
+
+    private void refreshViews() {
+        clearPose();
+        for (CubieView view : cubieViews.values()) {
+            view.updateOrientation();
+            view.updateTranslation();
         }
-        playMoveSequence(moves, TURN_DURATION);
     }
 
     private void buildViews() {
@@ -102,109 +260,141 @@ public final class CubeViewModel {
         }
     }
 
-    private boolean isInLayer(CubieModel cubie, RotationAxis axis, Set<Integer> layers) {
-        return switch (axis) {
-            case X -> layers.contains(cubie.coordinate().x());
-            case Y -> layers.contains(cubie.coordinate().y());
-            case Z -> layers.contains(cubie.coordinate().z());
-        };
+    // Starts animating a turn: the affected cubies pick up the turn axis, and from then on every frame only
+    // changes their turn angle. Returns false when the move does not turn anything.
+    boolean beginTurn(Move move) {
+        clearPose();
+        int turns = normalizeTurns(move.quarterTurns());
+        if (turns == 0) {
+            return false;
+        }
+        turnMove = move;
+        turnAngle = rotationAngle(move.axis(), turns);
+        turnCubies = model.affectedCubies(move, affected);
+        for (int i = 0; i < turnCubies; i++) {
+            affectedViews[i] = cubieViews.get(affected[i]);
+            affectedViews[i].beginTurn(move.axis());
+        }
+        return true;
     }
 
-    private void applyQuarterTurn(List<CubieModel> affected, RotationAxis axis, int turn) {
-        double angle = rotationAngle(axis, turn);
-        for (CubieModel cubie : affected) {
-            CubieView view = cubieViews.get(cubie);
-            view.rotateAroundWorld(axis, angle);
-            rotateCoordinate(cubie, axis, turn);
+    void setTurnProgress(double progress) {
+        double angle = turnAngle * progress;
+        for (int i = 0; i < turnCubies; i++) {
+            affectedViews[i].setTurnAngle(angle);
+        }
+    }
+
+    void completeTurn() {
+        model.apply(turnMove);
+        if (unrecordedTurns > 0) {
+            unrecordedTurns--;
+        } else {
+            history.record(turnMove, model);
+        }
+        historyChanged();
+        if (turnEvent != null) {
+            turnEvent.finish();
+            turnEvent = null;
+        }
+        for (int i = 0; i < turnCubies; i++) {
+            CubieView view = affectedViews[i];
+            view.endTurn();
+            view.updateOrientation();
             view.updateTranslation();
+            affectedViews[i] = null;
         }
+        turnMove = null;
+        turnCubies = 0;
     }
 
-    private void animateTurn(List<CubieModel> affected, RotationAxis axis, int turns, Duration duration) {
-        List<CubieView> views = new ArrayList<>(affected.size());
-        for (CubieModel cubie : affected) {
-            views.add(cubieViews.get(cubie));
+    // Shows the cube part-way through a turn without playing or applying it, for rendering still frames.
+    // The pose stays until clearPose, or until another pose, turn or refresh replaces it.
+    public void poseTurn(Move move, double progress) {
+        if (animating) {
+            throw new IllegalStateException("Cannot pose a turn while animating");
         }
-        cubeGroup.getChildren().removeAll(views);
-
-        Group sliceGroup = new Group();
-        sliceGroup.getChildren().addAll(views);
-        cubeGroup.getChildren().add(sliceGroup);
-
-        Rotate rotate = new Rotate(0, axisVector(axis));
-        sliceGroup.getTransforms().add(rotate);
-
-        double angle = rotationAngle(axis, turns);
-        Timeline timeline = new Timeline(
-            new KeyFrame(Duration.ZERO, new KeyValue(rotate.angleProperty(), 0)),
-            new KeyFrame(duration, new KeyValue(rotate.angleProperty(), angle))
-        );
-        animating = true;
-        timeline.setOnFinished(event -> {
-            sliceGroup.getTransforms().clear();
-            cubeGroup.getChildren().remove(sliceGroup);
-            applyFinalTurns(affected, axis, turns);
-            cubeGroup.getChildren().addAll(views);
-            animating = false;
-        });
-        timeline.play();
-    }
-
-    private void playMoveSequence(List<Move> moves, Duration duration) {
-        Deque<Move> queue = new ArrayDeque<>(moves);
-        animating = true;
-        playNextMove(queue, duration);
-    }
-
-    private void playNextMove(Deque<Move> queue, Duration duration) {
-        Move move = queue.pollFirst();
-        if (move == null) {
-            animating = false;
+        if (!posed || turnMove != move) {
+            if (!beginTurn(move)) {
+                return;
+            }
+            posed = true;
+        }
+        setTurnProgress(progress);
+    }
+
+    public void clearPose() {
+        if (!posed) {
             return;
         }
-        List<CubieModel> affected = new ArrayList<>();
-        for (CubieModel cubie : model.cubies()) {
-            if (isInLayer(cubie, move.axis(), move.layers())) {
-                affected.add(cubie);
+        for (int i = 0; i < turnCubies; i++) {
+            affectedViews[i].endTurn();
+            affectedViews[i] = null;
+        }
+        turnMove = null;
+        turnCubies = 0;
+        posed = false;
+    }
+
+    private void playIfIdle() {
+        if (!animating) {
+            startNextTurn(UNSTARTED);
+        }
+    }
+
+    // A single AnimationTimer drives all turns: each frame interpolates the current turn, and a finished
+    // turn hands over to the next queued move within the same frame.
+    void advance(long now) {
+        if (lastFrame != UNSTARTED) {
+            metrics.recordFrame(now - lastFrame);
+        }
+        lastFrame = now;
+        if (turnStart == UNSTARTED) {
+            turnStart = now;
+        }
+        recordInputLatency(now);
+        while (now - turnStart >= turnNanos) {
+            long end = turnStart + turnNanos;
+            completeTurn();
+            startNextTurn(end);
+            if (!animating) {
+                return;
             }
+            recordInputLatency(now);
         }
-        int turns = normalizeTurns(move.quarterTurns());
-        if (turns == 0) {
-            playNextMove(queue, duration);
-            return;
+        setTurnProgress((double) (now - turnStart) / turnNanos);
+    }
+
+    private void startNextTurn(long start) {
+        if (resetPending) {
+            resetPending = false;
+            resetNow();
         }
-        List<CubieView> views = new ArrayList<>(affected.size());
-        for (CubieModel cubie : affected) {
-            views.add(cubieViews.get(cubie));
+        Move next;
+        do {
+            next = queue.poll();
+            if (next == null) {
+                animating = false;
+                lastFrame = UNSTARTED;
+                frameDriver.stop();
+                return;
+            }
+        } while (!beginTurn(next));
+        turnStart = start;
+        turnNanos = (long) (queue.durationMillis() * 1_000_000);
+        turnRequested = queue.polledInteractive() ? queue.polledEnqueuedNanos() : UNSTARTED;
+        turnEvent = TurnEvent.start(next, turnNanos, turnCubies, queue.size());
+        if (!animating) {
+            animating = true;
+            frameDriver.start();
         }
-        cubeGroup.getChildren().removeAll(views);
-
-        Group sliceGroup = new Group();
-        sliceGroup.getChildren().addAll(views);
-        cubeGroup.getChildren().add(sliceGroup);
-
-        Rotate rotate = new Rotate(0, axisVector(move.axis()));
-        sliceGroup.getTransforms().add(rotate);
-
-        double angle = rotationAngle(move.axis(), turns);
-        Timeline timeline = new Timeline(
-            new KeyFrame(Duration.ZERO, new KeyValue(rotate.angleProperty(), 0)),
-            new KeyFrame(duration, new KeyValue(rotate.angleProperty(), angle))
-        );
-        timeline.setOnFinished(event -> {
-            sliceGroup.getTransforms().clear();
-            cubeGroup.getChildren().remove(sliceGroup);
-            applyFinalTurns(affected, move.axis(), turns);
-            cubeGroup.getChildren().addAll(views);
-            playNextMove(queue, duration);
-        });
-        timeline.play();
-    }
-
-    private void applyFinalTurns(List<CubieModel> affected, RotationAxis axis, int turns) {
-        int step = turns > 0 ? 1 : -1;
-        for (int i = 0; i < Math.abs(turns); i++) {
-            applyQuarterTurn(affected, axis, step);
+    }
+
+    // Key press to the first frame that shows its turn; AnimationTimer frame times use System.nanoTime().
+    private void recordInputLatency(long now) {
+        if (turnRequested != UNSTARTED) {
+            metrics.recordInputLatency(now - turnRequested);
+            turnRequested = UNSTARTED;
         }
     }
 
@@ -216,44 +406,6 @@ public final class CubeViewModel {
         };
     }
 
-    private void rotateCoordinate(CubieModel cubie, RotationAxis axis, int turn) {
-        int x = cubie.coordinate().x();
-        int y = cubie.coordinate().y();
-        int z = cubie.coordinate().z();
-
-        int newX = x;
-        int newY = y;
-        int newZ = z;
-
-        if (axis == RotationAxis.X) {
-            if (turn > 0) {
-                newY = z;
-                newZ = -y;
-            } else {
-                newY = -z;
-                newZ = y;
-            }
-        } else if (axis == RotationAxis.Y) {
-            if (turn > 0) {
-                newX = -z;
-                newZ = x;
-            } else {
-                newX = z;
-                newZ = -x;
-            }
-        } else if (axis == RotationAxis.Z) {
-            if (turn > 0) {
-                newX = y;
-                newY = -x;
-            } else {
-                newX = -y;
-                newY = x;
-            }
-        }
-
-        cubie.coordinate().set(newX, newY, newZ);
-    }
-
     private int normalizeTurns(int turns) {
         int normalized = turns % 4;
         if (normalized == 3) {
@@ -264,12 +416,4 @@ public final class CubeViewModel {
         }
         return normalized;
     }
-
-    private static javafx.geometry.Point3D axisVector(RotationAxis axis) {
-        return switch (axis) {
-            case X -> Rotate.X_AXIS;
-            case Y -> Rotate.Y_AXIS;
-            case Z -> Rotate.Z_AXIS;
-        };
-    }
 }
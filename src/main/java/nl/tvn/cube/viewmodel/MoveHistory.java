@@ -0,0 +1,109 @@
+package nl.tvn.cube.viewmodel;
+
+import nl.tvn.cube.model.CubeModel;
+import nl.tvn.cube.model.Move;
+
+// Moves applied to the cube, one byte each in a ring, with a snapshot of the cube every CHECKPOINT_INTERVAL
+// moves. Positions are absolute move counts since the last clear: position p is the cube after the first p
+// moves. Seeking restores the nearest checkpoint at or before the target and replays fewer than
+// CHECKPOINT_INTERVAL moves, whatever the length of the history. When the ring is full the oldest
+// checkpoint interval is dropped.
+final class MoveHistory {
+    static final int CHECKPOINT_INTERVAL = 64;
+    static final int DEFAULT_CAPACITY = 1 << 16;
+    private final byte[] moves;
+    private final CubeModel.Snapshot[] checkpoints;
+    private long start;
+    private long position;
+    private long end;
+
+    MoveHistory() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    MoveHistory(int capacity) {
+        if (capacity < CHECKPOINT_INTERVAL || capacity % CHECKPOINT_INTERVAL != 0) {
+            throw new IllegalArgumentException("capacity must be a positive multiple of " + CHECKPOINT_INTERVAL);
+        }
+        this.moves = new byte[capacity];
+        this.checkpoints = new CubeModel.Snapshot[capacity / CHECKPOINT_INTERVAL + 1];
+        for (int i = 0; i < checkpoints.length; i++) {
+            checkpoints[i] = new CubeModel.Snapshot();
+        }
+    }
+
+    long start() {
+        return start;
+    }
+
+    long position() {
+        return position;
+    }
+
+    long end() {
+        return end;
+    }
+
+    // Starts an empty history at the current state of the model.
+    void clear(CubeModel model) {
+        start = 0;
+        position = 0;
+        end = 0;
+        model.save(checkpoints[0]);
+    }
+
+    // Records a move the model has just applied; moves that could have been redone are discarded.
+    void record(Move move, CubeModel model) {
+        int index = move.index();
+        if (index < 0) {
+            return;
+        }
+        if (position - start == moves.length) {
+            start += CHECKPOINT_INTERVAL;
+        }
+        moves[(int) (position % moves.length)] = (byte) index;
+        position++;
+        end = position;
+        if (position % CHECKPOINT_INTERVAL == 0) {
+            model.save(checkpoint(position));
+        }
+    }
+
+    // Steps back one move and returns it, or returns null at the start. The caller undoes it on the model.
+    Move undo() {
+        if (position == start) {
+            return null;
+        }
+        position--;
+        return moveAt(position);
+    }
+
+    // Steps forward one move and returns it, or returns null at the end. The caller applies it to the model.
+    Move redo() {
+        if (position == end) {
+            return null;
+        }
+        Move move = moveAt(position);
+        position++;
+        return move;
+    }
+
+    // Puts the model in the state at the target position, clamped to the recorded range.
+    void seek(long target, CubeModel model) {
+        long clamped = Math.max(start, Math.min(end, target));
+        long checkpoint = clamped - clamped % CHECKPOINT_INTERVAL;
+        model.restore(checkpoint(checkpoint));
+        for (long p = checkpoint; p < clamped; p++) {
+            model.apply(moveAt(p));
+        }
+        position = clamped;
+    }
+
+    private Move moveAt(long p) {
+        return Move.fromIndex(moves[(int) (p % moves.length)]);
+    }
+
+    private CubeModel.Snapshot checkpoint(long p) {
+        return checkpoints[(int) (p / CHECKPOINT_INTERVAL % checkpoints.length)];
+    }
+}
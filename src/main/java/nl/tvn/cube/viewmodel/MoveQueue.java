@@ -0,0 +1,192 @@
+package nl.tvn.cube.viewmodel;
+
+import java.util.List;
+import nl.tvn.cube.model.Move;
+
+// Moves waiting for the turn animation. Interactive input is bounded by the backlog and merged into the
+// last queued move when both turn the same layers about the same axis (R R becomes R2, R R' disappears).
+// Sequences such as algorithms and scrambles are queued in full. Interactive turns are shortened while
+// input is waiting so that the last key press is shown within a fixed latency budget.
+// Entries live in a growable ring of primitive arrays, so queueing and playback do not allocate.
+final class MoveQueue {
+    static final double LATENCY_BUDGET_MILLIS = 500;
+    static final double MIN_TURN_MILLIS = 40;
+    private static final int INITIAL_CAPACITY = 64;
+    private final int maxBacklog;
+    private byte[] moves = new byte[INITIAL_CAPACITY];
+    private float[] baseMillis = new float[INITIAL_CAPACITY];
+    private boolean[] interactiveFlags = new boolean[INITIAL_CAPACITY];
+    private long[] enqueuedNanos = new long[INITIAL_CAPACITY];
+    private int head;
+    private int size;
+    private int interactive;
+    private double polledBaseMillis;
+    private boolean polledInteractive;
+    private long polledEnqueuedNanos;
+    private long coalesced;
+    private long dropped;
+
+    MoveQueue(int maxBacklog) {
+        if (maxBacklog < 1) {
+            throw new IllegalArgumentException("maxBacklog must be positive");
+        }
+        this.maxBacklog = maxBacklog;
+    }
+
+    boolean offer(Move move, double baseMillis) {
+        int index = move.index();
+        if (index < 0) {
+            return false;
+        }
+        if (size > 0) {
+            int last = slot(size - 1);
+            Move queued = Move.fromIndex(moves[last]);
+            if (interactiveFlags[last] && queued.axis() == move.axis() && queued.layerMask() == move.layerMask()) {
+                int turns = Math.floorMod(queued.quarterTurns() + move.quarterTurns(), 4);
+                if (turns != 0) {
+                    moves[last] = (byte) Move.of(move.axis(), move.layerMask(), turns).index();
+                } else {
+                    size--;
+                    interactive--;
+                }
+                coalesced++;
+                return true;
+            }
+        }
+        if (interactive >= maxBacklog) {
+            dropped++;
+            return false;
+        }
+        add(index, baseMillis, true);
+        interactive++;
+        return true;
+    }
+
+    void offerAll(List<Move> sequence, double baseMillis) {
+        for (Move move : sequence) {
+            offerSequenced(move, baseMillis);
+        }
+    }
+
+    // Queues one move of a sequence; a duration of zero applies it in the frame where it is reached.
+    void offerSequenced(Move move, double baseMillis) {
+        int index = move.index();
+        if (index >= 0) {
+            add(index, baseMillis, false);
+        }
+    }
+
+    // Spreads a sequence over a time budget without animating turns faster than MIN_TURN_MILLIS: beyond
+    // that only every stride-th turn is animated, and the turns in between are applied without animation
+    // in the frame where the previous animated turn ends.
+    void offerWithinBudget(List<Move> sequence, double budgetMillis, double maxTurnMillis) {
+        if (sequence.isEmpty()) {
+            return;
+        }
+        int animated = (int) Math.max(1, Math.min(sequence.size(), budgetMillis / MIN_TURN_MILLIS));
+        int stride = (sequence.size() + animated - 1) / animated;
+        int chunks = (sequence.size() + stride - 1) / stride;
+        double millis = Math.min(maxTurnMillis, budgetMillis / chunks);
+        for (int i = 0; i < sequence.size(); i++) {
+            boolean animate = i % stride == stride - 1 || i == sequence.size() - 1;
+            offerSequenced(sequence.get(i), animate ? millis : 0);
+        }
+    }
+
+    Move poll() {
+        if (size == 0) {
+            return null;
+        }
+        Move move = Move.fromIndex(moves[head]);
+        polledBaseMillis = baseMillis[head];
+        polledInteractive = interactiveFlags[head];
+        polledEnqueuedNanos = enqueuedNanos[head];
+        if (polledInteractive) {
+            interactive--;
+        }
+        head = (head + 1) % moves.length;
+        size--;
+        return move;
+    }
+
+    // Duration of the move returned by the last poll, given the input still waiting behind it.
+    double durationMillis() {
+        if (!polledInteractive) {
+            return polledBaseMillis;
+        }
+        double share = LATENCY_BUDGET_MILLIS / (interactive + 1);
+        return Math.max(MIN_TURN_MILLIS, Math.min(polledBaseMillis, share));
+    }
+
+    boolean polledInteractive() {
+        return polledInteractive;
+    }
+
+    // System.nanoTime() when the move returned by the last poll was first queued; merged input keeps the
+    // time of the earlier key press.
+    long polledEnqueuedNanos() {
+        return polledEnqueuedNanos;
+    }
+
+    void clear() {
+        head = 0;
+        size = 0;
+        interactive = 0;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int maxBacklog() {
+        return maxBacklog;
+    }
+
+    long coalesced() {
+        return coalesced;
+    }
+
+    long dropped() {
+        return dropped;
+    }
+
+    private void add(int moveIndex, double millis, boolean interactiveMove) {
+        if (size == moves.length) {
+            grow();
+        }
+        int slot = slot(size);
+        moves[slot] = (byte) moveIndex;
+        baseMillis[slot] = (float) millis;
+        interactiveFlags[slot] = interactiveMove;
+        enqueuedNanos[slot] = interactiveMove ? System.nanoTime() : 0;
+        size++;
+    }
+
+    private int slot(int offset) {
+        return (head + offset) % moves.length;
+    }
+
+    private void grow() {
+        int capacity = moves.length * 2;
+        byte[] grownMoves = new byte[capacity];
+        float[] grownMillis = new float[capacity];
+        boolean[] grownFlags = new boolean[capacity];
+        long[] grownNanos = new long[capacity];
+        for (int i = 0; i < size; i++) {
+            int slot = slot(i);
+            grownMoves[i] = moves[slot];
+            grownMillis[i] = baseMillis[slot];
+            grownFlags[i] = interactiveFlags[slot];
+            grownNanos[i] = enqueuedNanos[slot];
+        }
+        moves = grownMoves;
+        baseMillis = grownMillis;
+        interactiveFlags = grownFlags;
+        enqueuedNanos = grownNanos;
+        head = 0;
+    }
+}
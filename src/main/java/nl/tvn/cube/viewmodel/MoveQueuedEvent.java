@@ -0,0 +1,32 @@
+package nl.tvn.cube.viewmodel;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import nl.tvn.cube.model.Move;
+import nl.tvn.cube.model.MoveNotation;
+
+@Name("nl.tvn.cube.MoveQueued")
+@Label("Move Queued")
+@Category({ "Cube", "Animation" })
+@StackTrace(false)
+final class MoveQueuedEvent extends Event {
+    @Label("Move")
+    String move;
+    @Label("Accepted")
+    boolean accepted;
+    @Label("Queue Depth")
+    int queueDepth;
+
+    static void emit(Move move, boolean accepted, int queueDepth) {
+        MoveQueuedEvent event = new MoveQueuedEvent();
+        if (event.shouldCommit()) {
+            event.move = MoveNotation.format(move);
+            event.accepted = accepted;
+            event.queueDepth = queueDepth;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package nl.tvn.cube.viewmodel;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Queueing (or, in instant mode, applying) a whole move sequence.
+@Name("nl.tvn.cube.Playback")
+@Label("Sequence Playback")
+@Category({ "Cube", "Animation" })
+@StackTrace(false)
+final class PlaybackEvent extends Event {
+    @Label("Mode")
+    String mode;
+    @Label("Moves")
+    int moves;
+    @Label("Queue Depth")
+    int queueDepth;
+
+    void finish(PlaybackMode mode, int moves, int queueDepth) {
+        if (shouldCommit()) {
+            this.mode = mode.name();
+            this.moves = moves;
+            this.queueDepth = queueDepth;
+            commit();
+        }
+    }
+}
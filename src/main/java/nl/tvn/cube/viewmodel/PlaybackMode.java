@@ -0,0 +1,10 @@
+package nl.tvn.cube.viewmodel;
+
+public enum PlaybackMode {
+    // Every turn is animated at the normal speed.
+    ANIMATED,
+    // The sequence is merged and fitted into the policy's time budget, animating only some of its turns.
+    TIME_BUDGETED,
+    // The whole sequence is applied at once and the views are updated a single time.
+    INSTANT
+}
@@ -0,0 +1,26 @@
+package nl.tvn.cube.viewmodel;
+
+// Chooses how a sequence is played from its length: sequences longer than budgetedAbove moves are fitted
+// into budgetMillis, and sequences longer than instantAbove moves are applied without animation.
+public record PlaybackPolicy(int budgetedAbove, int instantAbove, double budgetMillis) {
+    public static final PlaybackPolicy DEFAULT = new PlaybackPolicy(12, 1_000, 2_000);
+
+    public PlaybackPolicy {
+        if (budgetedAbove < 0 || instantAbove < budgetedAbove) {
+            throw new IllegalArgumentException("instantAbove must not be below a non-negative budgetedAbove");
+        }
+        if (budgetMillis <= 0) {
+            throw new IllegalArgumentException("budgetMillis must be positive");
+        }
+    }
+
+    public PlaybackMode modeFor(int length) {
+        if (length > instantAbove) {
+            return PlaybackMode.INSTANT;
+        }
+        if (length > budgetedAbove) {
+            return PlaybackMode.TIME_BUDGETED;
+        }
+        return PlaybackMode.ANIMATED;
+    }
+}
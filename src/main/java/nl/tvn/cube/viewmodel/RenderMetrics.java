@@ -0,0 +1,60 @@
+package nl.tvn.cube.viewmodel;
+
+// Counters the view model records while it animates: time between animation frames, frames missed
+// against a 60 Hz display, the delay from a key press until its turn is first drawn and the deepest the
+// move queue got. Recording only touches preallocated arrays, so it stays on in normal use.
+public final class RenderMetrics {
+    static final long FRAME_NANOS = 1_000_000_000L / 60;
+    private static final int FRAME_WINDOW = 600;
+    private static final int LATENCY_WINDOW = 256;
+    private final RollingHistogram frameTimes = new RollingHistogram(FRAME_WINDOW);
+    private final RollingHistogram inputLatency = new RollingHistogram(LATENCY_WINDOW);
+    private long frames;
+    private long droppedFrames;
+    private int peakQueueDepth;
+
+    public RollingHistogram frameTimes() {
+        return frameTimes;
+    }
+
+    public RollingHistogram inputLatency() {
+        return inputLatency;
+    }
+
+    public long frames() {
+        return frames;
+    }
+
+    public long droppedFrames() {
+        return droppedFrames;
+    }
+
+    public int peakQueueDepth() {
+        return peakQueueDepth;
+    }
+
+    public void clear() {
+        frameTimes.clear();
+        inputLatency.clear();
+        frames = 0;
+        droppedFrames = 0;
+        peakQueueDepth = 0;
+    }
+
+    // A frame that took more than one and a half display frames counts the frames it skipped as dropped.
+    void recordFrame(long intervalNanos) {
+        frames++;
+        frameTimes.record(intervalNanos / 1000);
+        if (intervalNanos * 2 > FRAME_NANOS * 3) {
+            droppedFrames += Math.round((double) intervalNanos / FRAME_NANOS) - 1;
+        }
+    }
+
+    void recordInputLatency(long nanos) {
+        inputLatency.record(nanos / 1000);
+    }
+
+    void recordQueueDepth(int depth) {
+        peakQueueDepth = Math.max(peakQueueDepth, depth);
+    }
+}
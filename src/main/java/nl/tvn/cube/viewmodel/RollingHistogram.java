@@ -0,0 +1,79 @@
+package nl.tvn.cube.viewmodel;
+
+import java.util.Arrays;
+
+// Histogram of the last `window` samples in microseconds. Buckets are log-linear with eight sub-buckets
+// per power of two, so percentiles are within 12.5% and recording is a few array writes: the sample that
+// falls out of the window is subtracted from its bucket as the new one is added.
+public final class RollingHistogram {
+    private static final int SUB_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final long MAX_MICROS = (1L << 32) - 1;
+    private static final int BUCKETS = bucket(MAX_MICROS) + 1;
+    private final int[] counts = new int[BUCKETS];
+    private final short[] samples;
+    private int next;
+    private int size;
+
+    public RollingHistogram(int window) {
+        if (window < 1) {
+            throw new IllegalArgumentException("window must be positive");
+        }
+        this.samples = new short[window];
+    }
+
+    public void record(long micros) {
+        int bucket = bucket(Math.max(0, Math.min(micros, MAX_MICROS)));
+        if (size == samples.length) {
+            counts[samples[next]]--;
+        } else {
+            size++;
+        }
+        samples[next] = (short) bucket;
+        counts[bucket]++;
+        next = (next + 1) % samples.length;
+    }
+
+    public int count() {
+        return size;
+    }
+
+    // Upper bound of the bucket holding the given percentile, or 0 when nothing was recorded.
+    public long percentile(double percentile) {
+        if (size == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(size * percentile / 100.0));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank) {
+                return upperBound(bucket);
+            }
+        }
+        return MAX_MICROS;
+    }
+
+    public void clear() {
+        Arrays.fill(counts, 0);
+        next = 0;
+        size = 0;
+    }
+
+    static int bucket(long micros) {
+        if (micros < 2 * SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(micros) - SUB_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) ((micros >>> shift) - SUB_BUCKETS);
+    }
+
+    static long upperBound(int bucket) {
+        if (bucket < 2 * SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long sub = bucket % SUB_BUCKETS + SUB_BUCKETS;
+        return ((sub + 1) << shift) - 1;
+    }
+}
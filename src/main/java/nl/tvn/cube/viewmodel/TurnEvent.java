@@ -0,0 +1,49 @@
+package nl.tvn.cube.viewmodel;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import nl.tvn.cube.model.Move;
+import nl.tvn.cube.model.MoveNotation;
+
+// Spans one animated turn from its start to the frame that completes it. The event object lives across
+// frames, so it is only created while a recording has the event enabled.
+@Name("nl.tvn.cube.Turn")
+@Label("Turn")
+@Category({ "Cube", "Animation" })
+@StackTrace(false)
+final class TurnEvent extends Event {
+    private static final EventType TYPE = EventType.getEventType(TurnEvent.class);
+    @Label("Move")
+    String move;
+    @Label("Planned Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    long plannedNanos;
+    @Label("Cubies")
+    int cubies;
+    @Label("Queue Depth")
+    int queueDepth;
+
+    static TurnEvent start(Move move, long plannedNanos, int cubies, int queueDepth) {
+        if (!TYPE.isEnabled()) {
+            return null;
+        }
+        TurnEvent event = new TurnEvent();
+        event.move = MoveNotation.format(move);
+        event.plannedNanos = plannedNanos;
+        event.cubies = cubies;
+        event.queueDepth = queueDepth;
+        event.begin();
+        return event;
+    }
+
+    void finish() {
+        if (shouldCommit()) {
+            commit();
+        }
+    }
+}
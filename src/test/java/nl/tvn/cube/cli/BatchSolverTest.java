@@ -0,0 +1,40 @@
+package nl.tvn.cube.cli;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import nl.tvn.cube.model.CubeState;
+import nl.tvn.cube.solver.TwoPhaseSolver;
+import nl.tvn.cube.viewmodel.AlgorithmParser;
+import org.junit.jupiter.api.Test;
+
+class BatchSolverTest {
+    @Test
+    void writesResultsInInputOrder() throws Exception {
+        String input = "R U R' U'\n\nF2 B2\nR Q\nL D' B\n";
+        StringWriter output = new StringWriter();
+
+        BatchSolver.Summary summary = new BatchSolver(new TwoPhaseSolver()::solve, 3)
+            .run(new BufferedReader(new StringReader(input)), output);
+
+        String[] lines = output.toString().split(System.lineSeparator());
+        assertEquals(4, lines.length);
+        assertTrue(lines[0].startsWith("1\tR U R' U'\t"));
+        assertTrue(lines[1].startsWith("3\tF2 B2\t"));
+        assertTrue(lines[2].startsWith("4\tR Q\tERROR\t"));
+        assertTrue(lines[3].startsWith("5\tL D' B\t"));
+        assertEquals(3, summary.solved());
+        assertEquals(1, summary.failed());
+        assertSolves("L D' B", lines[3].split("\t")[2]);
+    }
+
+    private static void assertSolves(String scramble, String solution) {
+        CubeState state = new CubeState();
+        AlgorithmParser.parse(scramble).sequence().applyTo(state);
+        AlgorithmParser.parse(solution).sequence().applyTo(state);
+        assertTrue(state.isSolved());
+    }
+}
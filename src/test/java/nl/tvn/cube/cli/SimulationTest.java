@@ -0,0 +1,48 @@
+package nl.tvn.cube.cli;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.SplittableRandom;
+import nl.tvn.cube.model.Algorithm;
+import nl.tvn.cube.model.Move;
+import nl.tvn.cube.viewmodel.AlgorithmParser;
+import org.junit.jupiter.api.Test;
+
+class SimulationTest {
+    @Test
+    void appliesAndCountsMoves() {
+        Simulation simulation = new Simulation();
+
+        simulation.apply(AlgorithmParser.parse("R").algorithm());
+
+        assertEquals("UUFUUFUUFRRRRRRRRRFFDFFDFFDDDBDDBDDBLLLLLLLLLUBBUBBUBB", simulation.state().toFacelets());
+        simulation.apply(AlgorithmParser.parse("R U R' U'").algorithm(), 6);
+        assertEquals(25L, simulation.moves());
+    }
+
+    @Test
+    void repeatedSexyMoveReturnsToStart() {
+        Simulation simulation = new Simulation();
+
+        simulation.apply(AlgorithmParser.parse("R U R' U'").algorithm(), 6);
+
+        assertTrue(simulation.state().isSolved());
+    }
+
+    @Test
+    void scramblesAreReproducibleAndNeverRepeatAFace() {
+        Algorithm first = Simulation.scramble(30, new SplittableRandom(7));
+        Algorithm second = Simulation.scramble(30, new SplittableRandom(7));
+
+        assertEquals(first.toSequence().asList(), second.toSequence().asList());
+        Move previous = null;
+        for (Move move : first) {
+            if (previous != null) {
+                assertNotEquals(previous.axis() + ":" + previous.layerMask(), move.axis() + ":" + move.layerMask());
+            }
+            previous = move;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package nl.tvn.cube.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class CubeModelTest {
+    @Test
+    void affectedCubiesMatchLayerScanAfterMoves() {
+        CubeModel model = new CubeModel();
+        Random random = new Random(11);
+        CubieModel[] affected = new CubieModel[CubeModel.CUBIE_COUNT];
+        for (int i = 0; i < 200; i++) {
+            Move move = Move.fromIndex(random.nextInt(Move.CANONICAL_COUNT));
+
+            int count = model.affectedCubies(move, affected);
+
+            Set<CubieModel> expected = new HashSet<>();
+            for (CubieModel cubie : model.cubies()) {
+                if (move.affectsLayer(layer(cubie.coordinate(), move.axis()))) {
+                    expected.add(cubie);
+                }
+            }
+            assertEquals(expected, Set.of(Arrays.copyOf(affected, count)));
+            model.apply(move);
+        }
+    }
+
+    @Test
+    void occupantsFollowCubiesAndReset() {
+        CubeModel model = new CubeModel();
+        CubieModel corner = model.occupant(1, 1, 1);
+
+        model.apply(MoveNotation.face('R', 1));
+
+        assertSame(corner, model.occupant(1, 1, -1));
+        assertTrue(model.occupant(1, 1, 1) != corner);
+        model.reset();
+        assertSame(corner, model.occupant(1, 1, 1));
+    }
+
+    @Test
+    void rotationsMapHomePositionsToCurrentPositions() {
+        CubeModel model = new CubeModel();
+        Random random = new Random(5);
+        int[][] homes = new int[CubeModel.CUBIE_COUNT][];
+        for (int i = 0; i < homes.length; i++) {
+            CubeCoordinate coordinate = model.cubies().get(i).coordinate();
+            homes[i] = new int[] { coordinate.x(), coordinate.y(), coordinate.z() };
+        }
+        for (int i = 0; i < 10_000; i++) {
+            model.apply(Move.fromIndex(random.nextInt(Move.CANONICAL_COUNT)));
+        }
+
+        for (int i = 0; i < homes.length; i++) {
+            CubieModel cubie = model.cubies().get(i);
+            int[] current = { cubie.coordinate().x(), cubie.coordinate().y(), cubie.coordinate().z() };
+            for (int row = 0; row < 3; row++) {
+                int mapped = 0;
+                for (int column = 0; column < 3; column++) {
+                    mapped += CubeRotation.matrix(cubie.rotation(), row, column) * homes[i][column];
+                }
+                assertEquals(current[row], mapped);
+            }
+        }
+        model.reset();
+        assertEquals(CubeRotation.IDENTITY, model.cubies().get(0).rotation());
+    }
+
+    private static int layer(CubeCoordinate coordinate, RotationAxis axis) {
+        return switch (axis) {
+            case X -> coordinate.x();
+            case Y -> coordinate.y();
+            case Z -> coordinate.z();
+        };
+    }
+}
@@ -0,0 +1,140 @@
+package nl.tvn.cube.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+class CubeStateTest {
+    private static final Move R = new Move(RotationAxis.X, Set.of(1), 1);
+    private static final Move U = new Move(RotationAxis.Y, Set.of(1), 1);
+    private static final Move R_PRIME = new Move(RotationAxis.X, Set.of(1), -1);
+    private static final Move U_PRIME = new Move(RotationAxis.Y, Set.of(1), -1);
+
+    @Test
+    void newStateIsSolved() {
+        CubeState state = new CubeState();
+
+        assertTrue(state.isSolved());
+        assertTrue(state.isIdentity());
+    }
+
+    @Test
+    void fourQuarterTurnsRestoreState() {
+        CubeState state = new CubeState();
+        for (int i = 0; i < 4; i++) {
+            state.apply(new Move(RotationAxis.Z, Set.of(0, 1), 1));
+        }
+
+        assertTrue(state.isIdentity());
+    }
+
+    @Test
+    void sixSexyMovesRestoreState() {
+        CubeState state = new CubeState();
+        for (int i = 0; i < 6; i++) {
+            state.apply(R);
+            state.apply(U);
+            state.apply(R_PRIME);
+            state.apply(U_PRIME);
+        }
+
+        assertTrue(state.isIdentity());
+    }
+
+    @Test
+    void faceTurnTwistsCornersAndFrontTurnFlipsEdges() {
+        CubeState state = new CubeState();
+        state.apply(R);
+
+        assertFalse(state.isSolved());
+        assertEquals(0, state.edgeOrientation(0));
+        assertNotEquals(0, state.cornerOrientation(0));
+
+        state.reset();
+        state.apply(new Move(RotationAxis.Z, Set.of(1), 1));
+        assertEquals(1, state.edgeOrientation(1));
+    }
+
+    @Test
+    void halfTurnTableMatchesTwoQuarterTurns() {
+        for (RotationAxis axis : RotationAxis.values()) {
+            for (int layerMask = 1; layerMask <= MoveTable.LAYER_MASK_COUNT; layerMask++) {
+                CubeState quarterTurns = new CubeState();
+                quarterTurns.apply(MoveTable.tableIndex(axis, layerMask, 1));
+                quarterTurns.apply(MoveTable.tableIndex(axis, layerMask, 1));
+                CubeState halfTurn = new CubeState();
+                halfTurn.apply(MoveTable.tableIndex(axis, layerMask, 2));
+
+                assertEquals(quarterTurns, halfTurn);
+            }
+        }
+    }
+
+    @Test
+    void tableIndexMapsEveryCanonicalMove() {
+        for (int index = 0; index < Move.CANONICAL_COUNT; index++) {
+            Move move = Move.fromIndex(index);
+            int tableIndex = MoveTable.tableIndex(move);
+
+            assertEquals(MoveTable.tableIndex(move.axis(), move.layerMask(), move.quarterTurns()), tableIndex);
+            assertEquals(MoveTable.tableIndex(move.axis(), move.layerMask(), move.quarterTurns() + 4), tableIndex);
+        }
+        assertEquals(-1, MoveTable.tableIndex(new Move(RotationAxis.X, Move.ALL_LAYERS, 4)));
+    }
+
+    @Test
+    void cubeRotationIsSolvedButNotIdentity() {
+        CubeState state = new CubeState();
+        state.apply(new Move(RotationAxis.X, Set.of(-1, 0, 1), 1));
+
+        assertTrue(state.isSolved());
+        assertFalse(state.isIdentity());
+    }
+
+    @Test
+    void sliceMoveMatchesOuterTurnsWithRotation() {
+        CubeState slice = new CubeState();
+        slice.apply(new Move(RotationAxis.X, Set.of(0), 1));
+
+        CubeState outer = new CubeState();
+        outer.apply(new Move(RotationAxis.X, Set.of(-1, 0, 1), 1));
+        outer.apply(new Move(RotationAxis.X, Set.of(1), -1));
+        outer.apply(new Move(RotationAxis.X, Set.of(-1), -1));
+
+        assertEquals(outer, slice);
+    }
+
+    @Test
+    void modelTracksStateAlongsideCoordinates() {
+        CubeModel model = new CubeModel();
+        model.apply(R);
+
+        assertFalse(model.isSolved());
+        model.apply(R_PRIME);
+        assertTrue(model.isSolved());
+        assertTrue(model.state().isIdentity());
+    }
+
+    @Test
+    void incrementalHashMatchesFullHashAndSurvivesPacking() {
+        SplittableRandom random = new SplittableRandom(25);
+        HashedCubeState hashed = new HashedCubeState();
+        for (int i = 0; i < 2000; i++) {
+            hashed.apply(random.nextInt(MoveTable.MOVE_COUNT));
+
+            CubeState state = hashed.state();
+            assertEquals(state.zobristHash(), hashed.hash());
+            assertEquals(hashed.hash(), ZobristKeys.hash(hashed.packedHigh(), hashed.packedLow()));
+            assertEquals(state, CubeState.fromPacked(state.packedHigh(), state.packedLow()));
+        }
+        CubeState state = hashed.state();
+        state.multiply(state.inverse());
+        assertTrue(state.isIdentity());
+        assertEquals(new CubeState().zobristHash(), state.zobristHash());
+    }
+}
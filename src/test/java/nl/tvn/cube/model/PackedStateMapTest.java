@@ -0,0 +1,57 @@
+package nl.tvn.cube.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+class PackedStateMapTest {
+    @Test
+    void setAndMapAgreeWithHashMapWhileGrowing() {
+        SplittableRandom random = new SplittableRandom(7);
+        PackedStateSet set = new PackedStateSet();
+        PackedStateMap map = new PackedStateMap();
+        Map<CubeState, Integer> expected = new HashMap<>();
+        HashedCubeState state = new HashedCubeState();
+        for (int i = 0; i < 50_000; i++) {
+            state.apply(random.nextInt(MoveTable.MOVE_COUNT));
+            boolean added = expected.put(state.state(), i) == null;
+
+            assertEquals(added, set.add(state));
+            map.put(state, i);
+        }
+
+        assertEquals(expected.size(), set.size());
+        assertEquals(expected.size(), map.size());
+        for (Map.Entry<CubeState, Integer> entry : expected.entrySet()) {
+            CubeState key = entry.getKey();
+            assertTrue(set.contains(key));
+            assertTrue(set.contains(key.packedHigh(), key.packedLow()));
+            assertEquals(entry.getValue().intValue(), map.get(key, -1));
+        }
+        // A single twisted corner cannot be reached by moves, so the walk never added it.
+        int[] identity = { 0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11 };
+        CubeState twisted = CubeState.of(
+            Arrays.copyOf(identity, 8), new int[] { 1, 0, 0, 0, 0, 0, 0, 0 }, identity, new int[12]);
+        assertFalse(set.contains(twisted));
+        assertFalse(map.containsKey(twisted));
+        assertEquals(-1, map.get(twisted, -1));
+    }
+
+    @Test
+    void putIfAbsentKeepsFirstValueAndClearEmptiesTable() {
+        CubeState state = new CubeState();
+        PackedStateMap map = new PackedStateMap(4);
+
+        assertEquals(3, map.putIfAbsent(state.packedHigh(), state.packedLow(), 3));
+        assertEquals(3, map.putIfAbsent(state.packedHigh(), state.packedLow(), 5));
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertFalse(map.containsKey(state));
+    }
+}
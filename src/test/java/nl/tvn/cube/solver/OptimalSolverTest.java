@@ -0,0 +1,61 @@
+package nl.tvn.cube.solver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.ForkJoinPool;
+import nl.tvn.cube.model.CubeState;
+import nl.tvn.cube.model.Move;
+import nl.tvn.cube.viewmodel.AlgorithmParser;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+// Generates or maps about 130 MB of pattern databases, so it only runs with -Pslow-tests.
+@Tag("slow")
+class OptimalSolverTest {
+    private final OptimalSolver solver = new OptimalSolver();
+
+    @Test
+    void findsShortestSolutions() {
+        assertEquals(0, solver.solve(new CubeState()).length());
+        assertEquals(1, solve("R2").length());
+        assertEquals(4, solve("R U R' U'").length());
+        assertEquals(2, solve("R L'").length());
+    }
+
+    @Test
+    void solvesLongerScramblesWithoutExceedingThem() {
+        String scramble = "F R' U2 L D' B R2 U' F2 L'";
+
+        Solution solution = solve(scramble);
+
+        assertTrue(solution.length() <= 10);
+        assertTrue(solution.nodes() > 0);
+    }
+
+    @Test
+    void parallelismDoesNotChangeSolutionLength() {
+        CubeState state = new CubeState();
+        AlgorithmParser.parse("R U2 F' L D B2 R'").sequence().applyTo(state);
+        ForkJoinPool pool = SolverPool.create(4);
+        try {
+            Solution common = new OptimalSolver(20, ForkJoinPool.commonPool()).solve(state);
+            Solution dedicated = new OptimalSolver(20, pool).solve(state);
+
+            assertEquals(common.length(), dedicated.length());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private Solution solve(String algorithm) {
+        CubeState state = new CubeState();
+        AlgorithmParser.parse(algorithm).sequence().applyTo(state);
+        Solution solution = solver.solve(state);
+        for (Move move : solution.moves()) {
+            state.apply(move);
+        }
+        assertTrue(state.isSolved(), "solution " + solution.moves() + " does not solve " + algorithm);
+        return solution;
+    }
+}
@@ -0,0 +1,48 @@
+package nl.tvn.cube.solver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import nl.tvn.cube.model.CubeState;
+import nl.tvn.cube.model.Move;
+import org.junit.jupiter.api.Test;
+
+class ScramblerTest {
+    @Test
+    void randomStatesAreSolvable() {
+        SplittableRandom random = new SplittableRandom(3);
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(CubieCube.from(Scrambler.randomState(random)).isSolvable());
+        }
+    }
+
+    @Test
+    void scrambleReachesTheRandomState() {
+        try (Scrambler scrambler = new Scrambler()) {
+            CubeState target = Scrambler.randomState(new SplittableRandom(11));
+
+            List<Move> scramble = scrambler.scramble(target);
+
+            CubeState state = new CubeState();
+            scramble.forEach(state::apply);
+            assertEquals(target, state);
+            assertTrue(scramble.size() <= Scrambler.DEFAULT_MAX_LENGTH);
+        }
+    }
+
+    @Test
+    void bulkOutputDependsOnlyOnTheSeed() throws InterruptedException {
+        int count = Scrambler.CHUNK_SIZE + 5;
+        List<List<Move>> sequential = new ArrayList<>();
+        List<List<Move>> parallel = new ArrayList<>();
+
+        Scrambler.generate(42, count, 1, sequential::add);
+        Scrambler.generate(42, count, 4, parallel::add);
+
+        assertEquals(count, sequential.size());
+        assertEquals(sequential, parallel);
+    }
+}
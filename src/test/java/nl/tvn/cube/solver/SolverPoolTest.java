@@ -0,0 +1,26 @@
+package nl.tvn.cube.solver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class SolverPoolTest {
+    @AfterEach
+    void clearProperty() {
+        System.clearProperty(SolverPool.PARALLELISM_PROPERTY);
+    }
+
+    @Test
+    void usesConfiguredParallelism() {
+        System.setProperty(SolverPool.PARALLELISM_PROPERTY, " 3 ");
+        assertEquals(3, SolverPool.defaultParallelism());
+    }
+
+    @Test
+    void fallsBackToDefaultForInvalidParallelism() {
+        int fallback = SolverPool.defaultParallelism();
+        System.setProperty(SolverPool.PARALLELISM_PROPERTY, "four");
+        assertEquals(fallback, SolverPool.defaultParallelism());
+    }
+}
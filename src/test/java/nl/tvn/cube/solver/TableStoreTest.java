@@ -0,0 +1,90 @@
+package nl.tvn.cube.solver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.Test;
+
+class TableStoreTest {
+    @Test
+    void mapsStoredTableWithoutRegenerating() throws IOException {
+        Path directory = Files.createTempDirectory("cube-tables");
+        AtomicInteger generated = new AtomicInteger();
+        Consumer<ByteBuffer> generator = counting(generated);
+
+        ByteBuffer first = TableStore.at(directory).table("sample", 1, 1000, generator);
+        ByteBuffer second = TableStore.at(directory).table("sample", 1, 1000, generator);
+
+        assertEquals(1, generated.get());
+        assertFalse(second.hasArray());
+        assertEquals(first, second);
+        assertTrue(Files.exists(directory.resolve("sample.v1.tbl")));
+    }
+
+    @Test
+    void regeneratesCorruptOrOutdatedTables() throws IOException {
+        Path directory = Files.createTempDirectory("cube-tables");
+        AtomicInteger generated = new AtomicInteger();
+        Consumer<ByteBuffer> generator = counting(generated);
+        TableStore.at(directory).table("sample", 1, 1000, generator);
+        Path file = directory.resolve("sample.v1.tbl");
+        FileTime written = Files.getLastModifiedTime(file);
+        corrupt(file);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(written.toMillis() + 60_000));
+
+        ByteBuffer repaired = TableStore.at(directory).table("sample", 1, 1000, generator);
+        TableStore.at(directory).table("sample", 2, 1000, generator);
+
+        assertEquals(3, generated.get());
+        assertEquals(10, repaired.get(10));
+    }
+
+    @Test
+    void verifiesChecksumOnlyUntilFileIsMarked() throws IOException {
+        Path directory = Files.createTempDirectory("cube-tables");
+        AtomicInteger generated = new AtomicInteger();
+        Consumer<ByteBuffer> generator = counting(generated);
+        TableStore.at(directory).table("sample", 1, 1000, generator);
+        Path file = directory.resolve("sample.v1.tbl");
+        Path marker = TableStore.markerFor(file);
+        assertTrue(Files.exists(marker));
+
+        Files.delete(marker);
+        TableStore.at(directory).table("sample", 1, 1000, generator);
+        assertTrue(Files.exists(marker));
+
+        // A marked file is trusted as long as its modification time is unchanged.
+        FileTime verified = Files.getLastModifiedTime(file);
+        corrupt(file);
+        Files.setLastModifiedTime(file, verified);
+        ByteBuffer trusted = TableStore.at(directory).table("sample", 1, 1000, generator);
+
+        assertEquals(1, generated.get());
+        assertEquals(42, trusted.get(10));
+    }
+
+    private static void corrupt(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] { 42 }), TableStore.HEADER_SIZE + 10);
+        }
+    }
+
+    private static Consumer<ByteBuffer> counting(AtomicInteger generated) {
+        return buffer -> {
+            generated.incrementAndGet();
+            for (int i = 0; i < buffer.capacity(); i++) {
+                buffer.put(i, (byte) i);
+            }
+        };
+    }
+}
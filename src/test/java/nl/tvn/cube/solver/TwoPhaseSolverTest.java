@@ -0,0 +1,73 @@
+package nl.tvn.cube.solver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import nl.tvn.cube.model.CubeState;
+import nl.tvn.cube.model.Move;
+import nl.tvn.cube.model.MoveNotation;
+import nl.tvn.cube.viewmodel.AlgorithmParser;
+import org.junit.jupiter.api.Test;
+
+class TwoPhaseSolverTest {
+    private final TwoPhaseSolver solver = new TwoPhaseSolver();
+
+    @Test
+    void solvedStateNeedsNoMoves() {
+        assertEquals(0, solver.solve(new CubeState()).length());
+    }
+
+    @Test
+    void solvesRandomScramblesWithinMaxLength() {
+        Random random = new Random(7);
+        char[] tokens = { 'U', 'D', 'R', 'L', 'F', 'B' };
+        for (int i = 0; i < 20; i++) {
+            CubeState state = new CubeState();
+            for (int j = 0; j < 40; j++) {
+                state.apply(MoveNotation.face(tokens[random.nextInt(tokens.length)], 1 + random.nextInt(3)));
+            }
+
+            Solution solution = solver.solve(state);
+
+            assertTrue(solution.length() <= TwoPhaseSolver.DEFAULT_MAX_LENGTH);
+            assertSolves(state, solution);
+        }
+    }
+
+    @Test
+    void solvesStatesWithMovedCenters() {
+        CubeState state = new CubeState();
+        AlgorithmParser.parse("M E S R U F' M2 L").sequence().applyTo(state);
+
+        Solution solution = solver.solve(state);
+
+        assertSolves(state, solution);
+        for (Move move : solution.moves()) {
+            assertEquals(1, Integer.bitCount(move.layerMask()));
+            assertFalse(move.affectsLayer(0));
+        }
+    }
+
+    @Test
+    void detectsUnsolvableCubies() {
+        CubieCube flippedEdge = new CubieCube();
+        flippedEdge.eo[0] = 1;
+        CubieCube swappedCorners = new CubieCube();
+        swappedCorners.cp[0] = 1;
+        swappedCorners.cp[1] = 0;
+
+        assertTrue(new CubieCube().isSolvable());
+        assertFalse(flippedEdge.isSolvable());
+        assertFalse(swappedCorners.isSolvable());
+    }
+
+    private static void assertSolves(CubeState scrambled, Solution solution) {
+        CubeState state = scrambled.copy();
+        for (Move move : solution.moves()) {
+            state.apply(move);
+        }
+        assertTrue(state.isSolved(), "solution " + solution.moves() + " leaves " + state);
+    }
+}
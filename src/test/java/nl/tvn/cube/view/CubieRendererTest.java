@@ -0,0 +1,25 @@
+package nl.tvn.cube.view;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class CubieRendererTest {
+    @AfterEach
+    void clearProperty() {
+        System.clearProperty(CubieRenderer.PROPERTY);
+    }
+
+    @Test
+    void usesConfiguredRenderer() {
+        System.setProperty(CubieRenderer.PROPERTY, " Mesh ");
+        assertEquals(CubieRenderer.MESH, CubieRenderer.configured());
+    }
+
+    @Test
+    void fallsBackToBoxForUnknownRenderer() {
+        System.setProperty(CubieRenderer.PROPERTY, "meshes");
+        assertEquals(CubieRenderer.BOX, CubieRenderer.configured());
+    }
+}
@@ -0,0 +1,58 @@
+package nl.tvn.cube.viewmodel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import nl.tvn.cube.model.CubeState;
+import nl.tvn.cube.model.Move;
+import nl.tvn.cube.model.MoveNotation;
+import org.junit.jupiter.api.Test;
+
+class AlgorithmOptimizerTest {
+    @Test
+    void cancelsFullTurnsAndInverses() {
+        AlgorithmOptimization optimization = optimize("R R R R U U'");
+
+        assertTrue(optimization.moves().isEmpty());
+        assertEquals(6, optimization.removedMoves());
+    }
+
+    @Test
+    void mergesRepeatedMoves() {
+        AlgorithmOptimization optimization = optimize("R3 U2 U");
+
+        assertEquals(List.of(MoveNotation.face('R', -1), MoveNotation.face('U', -1)), optimization.moves());
+        assertEquals(6, optimization.originalLength());
+        assertEquals(2, optimization.optimizedLength());
+    }
+
+    @Test
+    void commutesParallelLayersToExposeCancellations() {
+        AlgorithmOptimization optimization = optimize("R L M R' U D U' F");
+
+        assertEquals(List.of(
+            MoveNotation.face('L', 1),
+            MoveNotation.face('M', 1),
+            MoveNotation.face('D', 1),
+            MoveNotation.face('F', 1)), optimization.moves());
+    }
+
+    @Test
+    void preservesResultingState() {
+        String algorithm = "R U R' U' F2 B L L' D E M' S2 R R R B' B'";
+        AlgorithmParseResult parsed = AlgorithmParser.parse(algorithm);
+        CubeState expected = new CubeState();
+        parsed.sequence().applyTo(expected);
+
+        CubeState actual = new CubeState();
+        AlgorithmOptimizer.optimize(parsed.moves()).sequence().applyTo(actual);
+
+        assertEquals(expected, actual);
+    }
+
+    private static AlgorithmOptimization optimize(String algorithm) {
+        List<Move> moves = AlgorithmParser.parse(algorithm).moves();
+        return AlgorithmOptimizer.optimize(moves);
+    }
+}
@@ -2,11 +2,15 @@ package nl.tvn.cube.viewmodel;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import nl.tvn.cube.model.CubeState;
 import nl.tvn.cube.model.Move;
+import nl.tvn.cube.model.MoveNotation;
 import nl.tvn.cube.model.RotationAxis;
 import org.junit.jupiter.api.Test;
 
@@ -37,6 +41,16 @@ class AlgorithmParserTest {
         assertEquals(new Move(RotationAxis.X, Set.of(1), -1), moves.get(3));
     }
 
+    @Test
+    void sharesCanonicalMoveInstances() {
+        AlgorithmParseResult result = AlgorithmParser.parse("R3 R");
+
+        assertTrue(result.isValid());
+        assertEquals(4, result.sequence().size());
+        assertSame(result.moves().get(0), result.moves().get(3));
+        assertSame(Move.of(RotationAxis.X, Move.layerBit(1), 1), result.moves().get(0));
+    }
+
     @Test
     void rejectsDigitsWithoutMove() {
         AlgorithmParseResult result = AlgorithmParser.parse("2R");
@@ -57,4 +71,97 @@ class AlgorithmParserTest {
 
         assertFalse(result.isValid());
     }
+
+    @Test
+    void appliesSuffixesLeftToRight() {
+        assertEquals("R' R'", format("R2'"));
+        assertEquals("R R", format("R'2'"));
+    }
+
+    @Test
+    void parsesWideMovesAndRotations() {
+        List<Move> moves = AlgorithmParser.parse("Rw r' x y2 m").moves();
+
+        assertEquals(MoveNotation.wide('R', 1), moves.get(0));
+        assertEquals(MoveNotation.wide('R', -1), moves.get(1));
+        assertEquals(MoveNotation.face('X', 1), moves.get(2));
+        assertEquals(MoveNotation.face('Y', 1), moves.get(3));
+        assertEquals(MoveNotation.face('M', 1), moves.get(5));
+    }
+
+    @Test
+    void expandsGroupsCommutatorsAndConjugates() {
+        assertEquals("R U R U", format("(R U)2"));
+        assertEquals("R U R' U'", format("[R, U]"));
+        assertEquals("F R U R' U' F'", format("[F: [R, U]]"));
+        assertEquals("U R U' R'", format("[R, U]'"));
+    }
+
+    @Test
+    void compiledStateMatchesExpandedMoves() {
+        AlgorithmParseResult result = AlgorithmParser.parse("[F: (R U R' U')2] [M2, U]' (Rw y)3");
+        CubeState expanded = new CubeState();
+        result.sequence().applyTo(expanded);
+        CubeState compiled = new CubeState();
+        result.algorithm().applyTo(compiled);
+
+        assertEquals(expanded, compiled);
+    }
+
+    @Test
+    void compilesHugeRepeatsWithoutExpandingThem() {
+        AlgorithmParseResult huge = AlgorithmParser.parse("((R U)1000000000)1000000000");
+        CubeState compiled = new CubeState();
+        huge.algorithm().applyTo(compiled);
+        CubeState expected = new CubeState();
+        // R U has order 105 and 10^18 = 85 (mod 105).
+        AlgorithmParser.parse("(R U)85").sequence().applyTo(expected);
+
+        assertTrue(huge.isValid());
+        assertEquals(2_000_000_000_000_000_000L, huge.algorithm().length());
+        assertEquals(expected, compiled);
+        assertEquals(MoveNotation.face('R', 1), huge.algorithm().iterator().next());
+    }
+
+    @Test
+    void formattedMovesParseBackToTheSameMove() {
+        for (int index = 0; index < Move.CANONICAL_COUNT; index++) {
+            Move move = Move.fromIndex(index);
+            String notation = MoveNotation.format(move);
+            AlgorithmParseResult result = AlgorithmParser.parse(notation);
+            assertTrue(result.isValid(), notation + ": " + result.errorMessage());
+            CubeState expected = new CubeState();
+            expected.apply(move);
+            CubeState parsed = new CubeState();
+            result.sequence().applyTo(parsed);
+
+            assertEquals(expected, parsed, notation);
+            if (Integer.bitCount(move.layerMask()) != 2 || move.affectsLayer(0)) {
+                for (Move parsedMove : result.moves()) {
+                    assertEquals(move.axis(), parsedMove.axis(), notation);
+                    assertEquals(move.layerMask(), parsedMove.layerMask(), notation);
+                }
+            }
+        }
+        assertEquals("Rw", MoveNotation.format(MoveNotation.wide('R', 1)));
+        assertEquals("Lw'", MoveNotation.format(MoveNotation.wide('L', -1)));
+        assertEquals("Uw2", MoveNotation.format(MoveNotation.wide('U', -2)));
+    }
+
+    @Test
+    void reportsGroupErrorsWithPositions() {
+        assertEquals("Unexpected ')' at position 3.", AlgorithmParser.parse("R )").errorMessage());
+        assertEquals("Missing ']' for '[' at position 3.", AlgorithmParser.parse("R [U, F").errorMessage());
+        assertEquals("Expected ',' or ':' before ']' at position 5.", AlgorithmParser.parse("[R U]").errorMessage());
+        assertFalse(AlgorithmParser.parse("(".repeat(AlgorithmParser.MAX_NESTING + 1) + "R"
+            + ")".repeat(AlgorithmParser.MAX_NESTING + 1)).isValid());
+    }
+
+    private static String format(String algorithm) {
+        AlgorithmParseResult result = AlgorithmParser.parse(algorithm);
+        assertTrue(result.isValid(), result.errorMessage());
+        List<Move> moves = new ArrayList<>();
+        result.algorithm().forEach(moves::add);
+        return MoveNotation.format(moves);
+    }
 }
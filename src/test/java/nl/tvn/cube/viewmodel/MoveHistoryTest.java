@@ -0,0 +1,91 @@
+package nl.tvn.cube.viewmodel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import nl.tvn.cube.model.CubeModel;
+import nl.tvn.cube.model.Move;
+import nl.tvn.cube.model.MoveNotation;
+import org.junit.jupiter.api.Test;
+
+class MoveHistoryTest {
+    private static final String FACES = "FBRLUDMES";
+
+    @Test
+    void seeksToAnyRecordedPosition() {
+        CubeModel model = new CubeModel();
+        MoveHistory history = new MoveHistory();
+        history.clear(model);
+        List<Move> moves = randomMoves(1000, 1);
+        for (Move move : moves) {
+            model.apply(move);
+            history.record(move, model);
+        }
+
+        for (long target : new long[] { 0, 1, 63, 64, 65, 500, 999, 1000 }) {
+            history.seek(target, model);
+            assertEquals(target, history.position());
+            assertEquals(stateAfter(moves.subList(0, (int) target)).state(), model.state());
+            assertEquals(stateAfter(moves.subList(0, (int) target)).cubies().get(7).rotation(),
+                model.cubies().get(7).rotation());
+        }
+    }
+
+    @Test
+    void undoAndRedoStepThroughMoves() {
+        CubeModel model = new CubeModel();
+        MoveHistory history = new MoveHistory();
+        history.clear(model);
+        Move r = MoveNotation.face('R', 1);
+        Move u = MoveNotation.face('U', 1);
+        model.apply(r);
+        history.record(r, model);
+        model.apply(u);
+        history.record(u, model);
+
+        assertEquals(u, history.undo());
+        assertEquals(r, history.undo());
+        assertNull(history.undo());
+        assertEquals(r, history.redo());
+        history.record(MoveNotation.face('F', 1), model);
+        assertNull(history.redo());
+        assertEquals(2L, history.end());
+    }
+
+    @Test
+    void dropsTheOldestIntervalWhenFull() {
+        CubeModel model = new CubeModel();
+        MoveHistory history = new MoveHistory(128);
+        history.clear(model);
+        List<Move> moves = randomMoves(300, 2);
+        for (Move move : moves) {
+            model.apply(move);
+            history.record(move, model);
+        }
+
+        assertEquals(192L, history.start());
+        history.seek(0, model);
+        assertEquals(192L, history.position());
+        assertEquals(stateAfter(moves.subList(0, 192)).state(), model.state());
+        history.seek(250, model);
+        assertEquals(stateAfter(moves.subList(0, 250)).state(), model.state());
+    }
+
+    private static CubeModel stateAfter(List<Move> moves) {
+        CubeModel model = new CubeModel();
+        moves.forEach(model::apply);
+        return model;
+    }
+
+    private static List<Move> randomMoves(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Move> moves = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            moves.add(MoveNotation.face(FACES.charAt(random.nextInt(FACES.length())), random.nextBoolean() ? 1 : -1));
+        }
+        return moves;
+    }
+}
@@ -0,0 +1,127 @@
+package nl.tvn.cube.viewmodel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import nl.tvn.cube.model.Move;
+import nl.tvn.cube.model.MoveNotation;
+import org.junit.jupiter.api.Test;
+
+class MoveQueueTest {
+    private static final Move R = MoveNotation.face('R', 1);
+    private static final Move L = MoveNotation.face('L', 1);
+    private static final Move U = MoveNotation.face('U', 1);
+
+    @Test
+    void coalescesRepeatedInputOnTheSameLayers() {
+        MoveQueue queue = new MoveQueue(8);
+
+        queue.offer(R, 250);
+        queue.offer(R, 250);
+        queue.offer(U, 250);
+        queue.offer(U.inverse(), 250);
+
+        assertEquals(1, queue.size());
+        assertEquals(MoveNotation.face('R', 2), queue.poll());
+        assertEquals(2, queue.coalesced());
+    }
+
+    @Test
+    void keepsMovesOnOtherLayersSeparate() {
+        MoveQueue queue = new MoveQueue(8);
+
+        queue.offer(R, 250);
+        queue.offer(L, 250);
+
+        assertEquals(2, queue.size());
+        assertEquals(0, queue.coalesced());
+    }
+
+    @Test
+    void dropsInputBeyondTheBacklog() {
+        MoveQueue queue = new MoveQueue(2);
+
+        assertTrue(queue.offer(R, 250));
+        assertTrue(queue.offer(U, 250));
+        assertFalse(queue.offer(L, 250));
+        queue.offerAll(List.of(L, L, L), 250);
+
+        assertEquals(5, queue.size());
+        assertEquals(1, queue.dropped());
+    }
+
+    @Test
+    void shortensInteractiveTurnsWhileInputIsWaiting() {
+        MoveQueue queue = new MoveQueue(16);
+        queue.offer(R, 250);
+        queue.poll();
+        assertEquals(250.0, queue.durationMillis());
+
+        for (int i = 0; i < 8; i++) {
+            queue.offer(i % 2 == 0 ? R : U, 250);
+        }
+        queue.poll();
+        assertEquals(MoveQueue.LATENCY_BUDGET_MILLIS / 8, queue.durationMillis());
+
+        queue.clear();
+        queue.offerAll(List.of(L), 50);
+        queue.poll();
+        assertEquals(50.0, queue.durationMillis());
+    }
+
+    @Test
+    void keepsOrderWhileGrowing() {
+        MoveQueue queue = new MoveQueue(4);
+        List<Move> moves = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            moves.add(Move.fromIndex(i % Move.CANONICAL_COUNT));
+        }
+        queue.offerAll(moves.subList(0, 50), 50);
+        for (int i = 0; i < 30; i++) {
+            assertEquals(moves.get(i), queue.poll());
+        }
+        queue.offerAll(moves.subList(50, 200), 50);
+
+        for (int i = 30; i < 200; i++) {
+            assertEquals(moves.get(i), queue.poll());
+        }
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    void fitsLongSequencesIntoTheTimeBudget() {
+        MoveQueue queue = new MoveQueue(4);
+        List<Move> moves = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            moves.add(i % 2 == 0 ? R : U);
+        }
+
+        queue.offerWithinBudget(moves, 1000, 250);
+
+        double total = 0;
+        int animated = 0;
+        while (!queue.isEmpty()) {
+            queue.poll();
+            double millis = queue.durationMillis();
+            total += millis;
+            animated += millis > 0 ? 1 : 0;
+            assertTrue(millis == 0 || millis >= MoveQueue.MIN_TURN_MILLIS);
+        }
+        assertEquals(25, animated);
+        assertEquals(1000.0, total, 1e-9);
+    }
+
+    @Test
+    void keepsNormalSpeedWhenTheBudgetAllowsIt() {
+        MoveQueue queue = new MoveQueue(4);
+
+        queue.offerWithinBudget(List.of(R, U, L), 2000, 250);
+
+        queue.poll();
+        assertEquals(250.0, queue.durationMillis());
+        assertEquals(2, queue.size());
+    }
+}
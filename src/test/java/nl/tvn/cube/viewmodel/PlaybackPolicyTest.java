@@ -0,0 +1,23 @@
+package nl.tvn.cube.viewmodel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class PlaybackPolicyTest {
+    @Test
+    void choosesModeByLength() {
+        PlaybackPolicy policy = new PlaybackPolicy(10, 100, 1000);
+
+        assertEquals(PlaybackMode.ANIMATED, policy.modeFor(10));
+        assertEquals(PlaybackMode.TIME_BUDGETED, policy.modeFor(11));
+        assertEquals(PlaybackMode.TIME_BUDGETED, policy.modeFor(100));
+        assertEquals(PlaybackMode.INSTANT, policy.modeFor(101));
+    }
+
+    @Test
+    void rejectsInstantThresholdBelowBudgetThreshold() {
+        assertThrows(IllegalArgumentException.class, () -> new PlaybackPolicy(10, 5, 1000));
+    }
+}
@@ -0,0 +1,55 @@
+package nl.tvn.cube.viewmodel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class RenderMetricsTest {
+    @Test
+    void percentilesAreWithinBucketPrecision() {
+        RollingHistogram histogram = new RollingHistogram(1000);
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 100L);
+        }
+
+        long p50 = histogram.percentile(50);
+        long p99 = histogram.percentile(99);
+        assertTrue(p50 >= 50_000 && p50 <= 50_000 * 9 / 8, "p50 " + p50);
+        assertTrue(p99 >= 99_000 && p99 <= 99_000 * 9 / 8, "p99 " + p99);
+    }
+
+    @Test
+    void forgetsSamplesOutsideTheWindow() {
+        RollingHistogram histogram = new RollingHistogram(4);
+        for (int i = 0; i < 4; i++) {
+            histogram.record(10_000);
+        }
+        for (int i = 0; i < 4; i++) {
+            histogram.record(5);
+        }
+
+        assertEquals(4, histogram.count());
+        assertEquals(5L, histogram.percentile(100));
+    }
+
+    @Test
+    void bucketsCoverEveryValue() {
+        for (long value = 0; value < 100_000; value++) {
+            int bucket = RollingHistogram.bucket(value);
+            assertTrue(RollingHistogram.upperBound(bucket) >= value);
+            assertTrue(bucket == 0 || RollingHistogram.upperBound(bucket - 1) < value);
+        }
+    }
+
+    @Test
+    void countsSkippedFramesAsDropped() {
+        RenderMetrics metrics = new RenderMetrics();
+
+        metrics.recordFrame(RenderMetrics.FRAME_NANOS);
+        metrics.recordFrame(RenderMetrics.FRAME_NANOS * 3);
+
+        assertEquals(2L, metrics.frames());
+        assertEquals(2L, metrics.droppedFrames());
+    }
+}